@@ -0,0 +1,24 @@
+package com.ritesh.testing.benchmark;
+
+import com.ritesh.testing.UnitTestingApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+final class BenchmarkApplication {
+
+  private BenchmarkApplication() {}
+
+  // the application wired against an in-memory H2 database instead of MySQL
+  static ConfigurableApplicationContext start(String databaseName) {
+    return new SpringApplicationBuilder(UnitTestingApplication.class)
+        .web(WebApplicationType.NONE)
+        .properties(
+            "spring.datasource.url=jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.show-sql=false",
+            "spring.jpa.hibernate.ddl-auto=create-drop")
+        .run();
+  }
+}
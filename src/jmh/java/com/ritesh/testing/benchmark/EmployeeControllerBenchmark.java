@@ -0,0 +1,85 @@
+package com.ritesh.testing.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ritesh.testing.cache.EmployeeSuggestIndex;
+import com.ritesh.testing.controller.EmployeeController;
+import com.ritesh.testing.model.CursorPage;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.service.EmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// measures dispatch, argument binding and message conversion with the service stubbed out
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeControllerBenchmark {
+
+  private MockMvc mockMvc;
+
+  @Setup
+  public void setup() {
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    EmployeeService employeeService =
+        Mockito.mock(EmployeeService.class, withSettings().stubOnly());
+    List<Employee> employees = new ArrayList<>();
+    for (int i = 1; i <= EmployeeService.DEFAULT_PAGE_SIZE; i++) {
+      employees.add(
+          Employee.builder()
+              .id(i)
+              .firstName("First" + i)
+              .lastName("Last" + i)
+              .email("employee" + i + "@example.com")
+              .version(0)
+              .build());
+    }
+    given(employeeService.findEmployee(1)).willReturn(Optional.of(employees.get(0)));
+    given(employeeService.getEmployees(null, null))
+        .willReturn(new CursorPage<>(employees, EmployeeService.DEFAULT_PAGE_SIZE));
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(
+                new EmployeeController(
+                    employeeService,
+                    new EmployeeSuggestIndex(new SimpleMeterRegistry()),
+                    objectMapper))
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+  }
+
+  @Benchmark
+  public MvcResult getEmployeeById() throws Exception {
+    return mockMvc.perform(get("/api/employee/{id}", 1)).andReturn();
+  }
+
+  @Benchmark
+  public MvcResult getEmployeesPage() throws Exception {
+    return mockMvc.perform(get("/api/employee")).andReturn();
+  }
+}
@@ -0,0 +1,60 @@
+package com.ritesh.testing.benchmark;
+
+import com.ritesh.testing.metrics.EmployeeMetricsAspect;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.service.EmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.withSettings;
+
+// Cost of EmployeeMetricsAspect per call: the same stubbed service behind a plain AOP proxy and
+// behind a proxy carrying the metrics advice.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeMetricsOverheadBenchmark {
+
+  private EmployeeService plainEmployeeService;
+  private EmployeeService instrumentedEmployeeService;
+
+  @Setup
+  public void setup() {
+    EmployeeService employeeService =
+        Mockito.mock(EmployeeService.class, withSettings().stubOnly());
+    given(employeeService.findEmployeeById(1))
+        .willReturn(Employee.builder().id(1).firstName("Ritesh").build());
+    plainEmployeeService = (EmployeeService) new ProxyFactory(employeeService).getProxy();
+    AspectJProxyFactory proxyFactory = new AspectJProxyFactory(employeeService);
+    proxyFactory.addAspect(new EmployeeMetricsAspect(new SimpleMeterRegistry()));
+    instrumentedEmployeeService = proxyFactory.getProxy();
+  }
+
+  @Benchmark
+  public Employee plain() {
+    return plainEmployeeService.findEmployeeById(1);
+  }
+
+  @Benchmark
+  public Employee instrumented() {
+    return instrumentedEmployeeService.findEmployeeById(1);
+  }
+}
@@ -0,0 +1,113 @@
+package com.ritesh.testing.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ritesh.testing.cache.EmployeeSuggestIndex;
+import com.ritesh.testing.controller.EmployeeController;
+import com.ritesh.testing.controller.RestExceptionHandler;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.service.EmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.withSettings;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+// 404 throughput of GET /api/employee/{id} for ids that do not exist. exceptionPerMiss replays the
+// previous controller: the lookup throws an exception with a stack trace and the handler catches it.
+// optionalPerMiss is the current controller, where a miss is an empty Optional and a shared response.
+// Both run behind the same MockMvc setup, so the difference is the cost of the miss itself; stacks
+// under a real servlet container are deeper, which makes the exception path only more expensive.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeNotFoundBenchmark {
+
+  private static final int MISSING_ID = 404;
+
+  private MockMvc mockMvc;
+
+  @Setup
+  public void setup() {
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    // unstubbed Optional lookups answer Optional.empty(), so every id misses
+    EmployeeService employeeService =
+        Mockito.mock(EmployeeService.class, withSettings().stubOnly());
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(
+                new EmployeeController(
+                    employeeService,
+                    new EmployeeSuggestIndex(new SimpleMeterRegistry()),
+                    objectMapper),
+                new ExceptionPerMissController(employeeService))
+            .setControllerAdvice(new RestExceptionHandler())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+  }
+
+  @Benchmark
+  public MvcResult exceptionPerMiss() throws Exception {
+    return mockMvc.perform(get("/benchmark/exception/{id}", MISSING_ID)).andReturn();
+  }
+
+  @Benchmark
+  public MvcResult optionalPerMiss() throws Exception {
+    return mockMvc.perform(get("/api/employee/{id}", MISSING_ID)).andReturn();
+  }
+
+  @RestController
+  static class ExceptionPerMissController {
+
+    private final EmployeeService employeeService;
+
+    ExceptionPerMissController(EmployeeService employeeService) {
+      this.employeeService = employeeService;
+    }
+
+    @GetMapping("/benchmark/exception/{id}")
+    public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") Integer id) {
+      try {
+        Employee employee =
+            employeeService
+                .findEmployee(id)
+                .orElseThrow(
+                    () -> new NotFoundWithStackTrace("Employee not found with id :: " + id));
+        return new ResponseEntity<>(employee, HttpStatus.OK);
+      } catch (NotFoundWithStackTrace e) {
+        return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+      }
+    }
+  }
+
+  // what ResourceNotFoundException used to be: a plain RuntimeException that fills in its trace
+  static class NotFoundWithStackTrace extends RuntimeException {
+
+    NotFoundWithStackTrace(String msg) {
+      super(msg);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.ritesh.testing.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ritesh.testing.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSerializationBenchmark {
+
+  private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {};
+
+  @Param({"1", "50", "500", "10000"})
+  int size;
+
+  private ObjectMapper objectMapper;
+  private List<Employee> employees;
+  private byte[] json;
+
+  @Setup
+  public void setup() throws IOException {
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    employees = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      employees.add(
+          Employee.builder()
+              .id(i)
+              .firstName("First" + i)
+              .lastName("Last" + i)
+              .email("employee" + i + "@example.com")
+              .version(0)
+              .build());
+    }
+    json = objectMapper.writeValueAsBytes(employees);
+  }
+
+  @Benchmark
+  public byte[] serialize() throws IOException {
+    return objectMapper.writeValueAsBytes(employees);
+  }
+
+  @Benchmark
+  public List<Employee> deserialize() throws IOException {
+    return objectMapper.readValue(json, EMPLOYEE_LIST);
+  }
+}
@@ -0,0 +1,103 @@
+package com.ritesh.testing.benchmark;
+
+import com.ritesh.testing.model.CursorPage;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.service.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+  @Param({"10000"})
+  int tableSize;
+
+  private final AtomicInteger sequence = new AtomicInteger();
+  private ConfigurableApplicationContext context;
+  private EmployeeService employeeService;
+  private int[] ids;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    context = BenchmarkApplication.start("service");
+    employeeService = context.getBean(EmployeeService.class);
+    List<Employee> employees = new ArrayList<>(tableSize);
+    for (int i = 0; i < tableSize; i++) {
+      employees.add(newEmployee());
+    }
+    ids = employeeService.saveEmployees(employees).stream().mapToInt(Employee::getId).toArray();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public Employee findEmployeeById() {
+    return employeeService.findEmployeeById(randomId());
+  }
+
+  @Benchmark
+  public CursorPage<Employee> getEmployeesFirstPage() {
+    return employeeService.getEmployees(null, null);
+  }
+
+  @Benchmark
+  public CursorPage<Employee> getEmployeesRandomPage() {
+    return employeeService.getEmployees(randomId(), null);
+  }
+
+  @Benchmark
+  public Employee saveEmployee() {
+    return employeeService.saveEmployee(newEmployee());
+  }
+
+  @Benchmark
+  public Employee updateEmployee() {
+    int id = randomId();
+    return employeeService.updateEmployee(
+        Employee.builder()
+            .id(id)
+            .firstName("Updated")
+            .lastName("Employee")
+            .email("employee" + id + "@example.com")
+            .build());
+  }
+
+  private int randomId() {
+    return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+  }
+
+  private Employee newEmployee() {
+    int n = sequence.incrementAndGet();
+    return Employee.builder()
+        .firstName("First" + n)
+        .lastName("Last" + n)
+        .email("bench" + n + "@example.com")
+        .build();
+  }
+}
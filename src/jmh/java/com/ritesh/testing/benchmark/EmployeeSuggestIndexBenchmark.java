@@ -0,0 +1,57 @@
+package com.ritesh.testing.benchmark;
+
+import com.ritesh.testing.cache.EmployeeSuggestIndex;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeSuggestion;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// typeahead lookups against an index of realistic size; the target is well under a millisecond
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSuggestIndexBenchmark {
+
+  @Param({"100000"})
+  private int employees;
+
+  @Param({"fi", "first123", "employee4"})
+  private String query;
+
+  private EmployeeSuggestIndex employeeSuggestIndex;
+
+  @Setup
+  public void setup() {
+    employeeSuggestIndex = new EmployeeSuggestIndex(new SimpleMeterRegistry());
+    for (int i = 1; i <= employees; i++) {
+      employeeSuggestIndex.putIfAbsent(
+          Employee.builder()
+              .id(i)
+              .firstName("First" + i)
+              .lastName("Last" + i)
+              .email("employee" + i + "@example.com")
+              .build());
+    }
+  }
+
+  @Benchmark
+  public List<EmployeeSuggestion> suggest() {
+    return employeeSuggestIndex.suggest(query, 10);
+  }
+}
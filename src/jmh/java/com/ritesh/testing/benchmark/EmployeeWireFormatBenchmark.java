@@ -0,0 +1,105 @@
+package com.ritesh.testing.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ritesh.testing.model.Employee;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+// Encode and decode cost of a bulk employee response per negotiated format, with and without gzip.
+// Payload sizes are printed once per trial since JMH only reports times.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeWireFormatBenchmark {
+
+  private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {};
+
+  @Param({"500", "10000"})
+  int size;
+
+  @Param({"json", "cbor", "smile"})
+  String format;
+
+  @Param({"false", "true"})
+  boolean gzip;
+
+  private ObjectMapper objectMapper;
+  private List<Employee> employees;
+  private byte[] payload;
+
+  @Setup
+  public void setup() throws IOException {
+    switch (format) {
+      case "cbor":
+        objectMapper = Jackson2ObjectMapperBuilder.cbor().build();
+        break;
+      case "smile":
+        objectMapper = Jackson2ObjectMapperBuilder.smile().build();
+        break;
+      default:
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+    employees = new ArrayList<>(size);
+    for (int i = 1; i <= size; i++) {
+      employees.add(
+          Employee.builder()
+              .id(i)
+              .firstName("First" + i)
+              .lastName("Last" + i)
+              .email("employee" + i + "@example.com")
+              .version(0)
+              .build());
+    }
+    payload = encode();
+    System.out.printf(
+        "%n%s%s payload for %d employees: %d bytes%n",
+        format, gzip ? "+gzip" : "", size, payload.length);
+  }
+
+  @Benchmark
+  public byte[] encode() throws IOException {
+    if (!gzip) {
+      return objectMapper.writeValueAsBytes(employees);
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (OutputStream out = new GZIPOutputStream(bytes)) {
+      objectMapper.writeValue(out, employees);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Benchmark
+  public List<Employee> decode() throws IOException {
+    if (!gzip) {
+      return objectMapper.readValue(payload, EMPLOYEE_LIST);
+    }
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+      return objectMapper.readValue(in, EMPLOYEE_LIST);
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package com.ritesh.testing.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.ritesh.testing.model.Employee;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+// Sits in front of Hibernate's second-level cache for lookups by id: a hit here costs no
+// transaction, session or entity hydration, and misses are cached too, which the L2 region cannot
+// do. The price is that every write path, the R2DBC ones included, invalidates it explicitly.
+@Component
+public class EmployeeCache {
+
+  private final Cache<Integer, Optional<Employee>> cache;
+
+  public EmployeeCache(
+      @Value("${app.cache.employee.maximum-size:10000}") long maximumSize,
+      @Value("${app.cache.employee.ttl:5m}") Duration ttl,
+      @Value("${app.cache.employee.negative-ttl:10s}") Duration negativeTtl,
+      MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new LookupExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "employeeById");
+  }
+
+  // null when the id is not cached
+  public Optional<Employee> getIfPresent(Integer id) {
+    return cache.getIfPresent(id);
+  }
+
+  public Optional<Employee> get(Integer id, Function<Integer, Optional<Employee>> loader) {
+    return cache.get(id, loader);
+  }
+
+  // the loader is called once with every id not cached and must map each of them, misses included
+  public Map<Integer, Optional<Employee>> getAll(
+      Iterable<Integer> ids, Function<Set<Integer>, Map<Integer, Optional<Employee>>> loader) {
+    return cache.getAll(
+        ids,
+        missing -> {
+          Set<Integer> keys = new HashSet<>();
+          missing.forEach(keys::add);
+          return loader.apply(keys);
+        });
+  }
+
+  public void invalidate(Integer id) {
+    if (id == null) {
+      return;
+    }
+    cache.invalidate(id);
+    // a reader may reload the old row before the writing transaction commits, so evict again after
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              cache.invalidate(id);
+            }
+          });
+    }
+  }
+
+  private static final class LookupExpiry implements Expiry<Integer, Optional<Employee>> {
+
+    private final long ttlNanos;
+    private final long negativeTtlNanos;
+
+    private LookupExpiry(long ttlNanos, long negativeTtlNanos) {
+      this.ttlNanos = ttlNanos;
+      this.negativeTtlNanos = negativeTtlNanos;
+    }
+
+    @Override
+    public long expireAfterCreate(Integer id, Optional<Employee> employee, long currentTime) {
+      return employee.isPresent() ? ttlNanos : negativeTtlNanos;
+    }
+
+    @Override
+    public long expireAfterUpdate(
+        Integer id, Optional<Employee> employee, long currentTime, long currentDuration) {
+      return expireAfterCreate(id, employee, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(
+        Integer id, Optional<Employee> employee, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+  }
+}
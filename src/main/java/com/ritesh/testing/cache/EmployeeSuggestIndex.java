@@ -0,0 +1,209 @@
+package com.ritesh.testing.cache;
+
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeSuggestion;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Typeahead index over employee first names, last names, full names and emails. Every term is
+ * stored lower-cased in a sorted map as {@code term + '\0' + id}, so a prefix lookup is one
+ * logarithmic seek followed by a scan that stops at the result limit. Writes are applied after the
+ * surrounding transaction commits, so rolled back changes never become visible.
+ */
+@Component
+public class EmployeeSuggestIndex {
+
+  private static final char SEPARATOR = '\0';
+
+  // rough per-object costs on a 64-bit JVM with compressed oops and compact strings
+  private static final int STRING_OVERHEAD_BYTES = 40;
+  private static final int TERM_ENTRY_OVERHEAD_BYTES = 80;
+  private static final int EMPLOYEE_OVERHEAD_BYTES = 96;
+
+  private final ConcurrentSkipListMap<String, Integer> terms = new ConcurrentSkipListMap<>();
+  private final ConcurrentMap<Integer, EmployeeSuggestion> employees = new ConcurrentHashMap<>();
+  private final AtomicLong estimatedBytes = new AtomicLong();
+  // ids removed while the warm-up scan runs, which may still read them from its snapshot; null
+  // outside the warm-up
+  private Set<Integer> removedDuringWarmUp;
+
+  public EmployeeSuggestIndex(MeterRegistry meterRegistry) {
+    Gauge.builder("employee.suggest.size", employees, ConcurrentMap::size)
+        .description("Employees in the typeahead index")
+        .register(meterRegistry);
+    Gauge.builder("employee.suggest.memory", estimatedBytes, AtomicLong::get)
+        .description("Estimated heap used by the typeahead index")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("employee.suggest.memory.per_employee", this, index -> index.bytesPerEmployee())
+        .description("Estimated heap used by the typeahead index per indexed employee")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  public List<EmployeeSuggestion> suggest(String query, int limit) {
+    String prefix = normalize(query);
+    if (prefix.isEmpty()) {
+      return List.of();
+    }
+    ConcurrentNavigableMap<String, Integer> matches =
+        terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    Set<Integer> ids = new LinkedHashSet<>();
+    for (Integer id : matches.values()) {
+      if (ids.add(id) && ids.size() == limit) {
+        break;
+      }
+    }
+    List<EmployeeSuggestion> suggestions = new ArrayList<>(ids.size());
+    for (Integer id : ids) {
+      EmployeeSuggestion suggestion = employees.get(id);
+      if (suggestion != null) {
+        suggestions.add(suggestion);
+      }
+    }
+    return suggestions;
+  }
+
+  public void put(Employee employee) {
+    EmployeeSuggestion suggestion = toSuggestion(employee);
+    afterCommit(() -> index(suggestion, true));
+  }
+
+  // used by the warm-up scan: never replaces an entry written by a live write in the meantime,
+  // nor brings back one removed since the scan started
+  public void putIfAbsent(Employee employee) {
+    index(toSuggestion(employee), false);
+  }
+
+  public void remove(Integer id) {
+    afterCommit(() -> removeEntry(id));
+  }
+
+  // brackets the warm-up scan; begin before the scan reads its snapshot
+  public synchronized void beginWarmUp() {
+    removedDuringWarmUp = new HashSet<>();
+  }
+
+  public synchronized void endWarmUp() {
+    removedDuringWarmUp = null;
+  }
+
+  private synchronized void removeEntry(Integer id) {
+    if (removedDuringWarmUp != null) {
+      removedDuringWarmUp.add(id);
+    }
+    unindex(id);
+  }
+
+  private synchronized void index(EmployeeSuggestion suggestion, boolean replace) {
+    if (!replace
+        && removedDuringWarmUp != null
+        && removedDuringWarmUp.contains(suggestion.getId())) {
+      return;
+    }
+    EmployeeSuggestion previous = employees.get(suggestion.getId());
+    if (previous != null) {
+      if (!replace) {
+        return;
+      }
+      unindex(previous.getId());
+    }
+    employees.put(suggestion.getId(), suggestion);
+    long bytes = EMPLOYEE_OVERHEAD_BYTES;
+    for (String term : terms(suggestion)) {
+      String key = term + SEPARATOR + suggestion.getId();
+      terms.put(key, suggestion.getId());
+      bytes += TERM_ENTRY_OVERHEAD_BYTES + STRING_OVERHEAD_BYTES + key.length();
+    }
+    estimatedBytes.addAndGet(bytes + stringBytes(suggestion));
+  }
+
+  private synchronized void unindex(Integer id) {
+    EmployeeSuggestion previous = employees.remove(id);
+    if (previous == null) {
+      return;
+    }
+    long bytes = EMPLOYEE_OVERHEAD_BYTES;
+    for (String term : terms(previous)) {
+      String key = term + SEPARATOR + id;
+      terms.remove(key);
+      bytes += TERM_ENTRY_OVERHEAD_BYTES + STRING_OVERHEAD_BYTES + key.length();
+    }
+    estimatedBytes.addAndGet(-(bytes + stringBytes(previous)));
+  }
+
+  private double bytesPerEmployee() {
+    int size = employees.size();
+    return size == 0 ? 0 : (double) estimatedBytes.get() / size;
+  }
+
+  private static Set<String> terms(EmployeeSuggestion suggestion) {
+    Set<String> terms = new LinkedHashSet<>(4);
+    addTerm(terms, suggestion.getFirstName());
+    addTerm(terms, suggestion.getLastName());
+    addTerm(terms, suggestion.getFirstName() + " " + suggestion.getLastName());
+    addTerm(terms, suggestion.getEmail());
+    return terms;
+  }
+
+  private static void addTerm(Set<String> terms, String value) {
+    String term = normalize(value);
+    if (!term.isEmpty()) {
+      terms.add(term);
+    }
+  }
+
+  private static String normalize(String value) {
+    return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+  }
+
+  private static long stringBytes(EmployeeSuggestion suggestion) {
+    return 3L * STRING_OVERHEAD_BYTES
+        + length(suggestion.getFirstName())
+        + length(suggestion.getLastName())
+        + length(suggestion.getEmail());
+  }
+
+  private static int length(String value) {
+    return value == null ? 0 : value.length();
+  }
+
+  private static EmployeeSuggestion toSuggestion(Employee employee) {
+    return EmployeeSuggestion.builder()
+        .id(employee.getId())
+        .firstName(employee.getFirstName())
+        .lastName(employee.getLastName())
+        .email(employee.getEmail())
+        .build();
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+}
@@ -0,0 +1,44 @@
+package com.ritesh.testing.cache;
+
+import com.ritesh.testing.datasource.ReplicaRouting;
+import com.ritesh.testing.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+// fills the typeahead index from one streaming scan of the table once the application has started
+@Component
+public class EmployeeSuggestIndexLoader implements ApplicationRunner {
+
+  private static final Logger log = LoggerFactory.getLogger(EmployeeSuggestIndexLoader.class);
+
+  private final EmployeeService employeeService;
+  private final EmployeeSuggestIndex employeeSuggestIndex;
+
+  public EmployeeSuggestIndexLoader(
+      EmployeeService employeeService, EmployeeSuggestIndex employeeSuggestIndex) {
+    this.employeeService = employeeService;
+    this.employeeSuggestIndex = employeeSuggestIndex;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    long start = System.nanoTime();
+    // deletes committed while the scan runs are remembered so the scan cannot bring them back
+    employeeSuggestIndex.beginWarmUp();
+    try {
+      // the export is a read-only transaction; a lagging replica could hand back rows whose delete
+      // happened before warm-up began, and no later event would remove them from the index
+      ReplicaRouting.onPrimary(
+          () -> {
+            employeeService.exportEmployees(employeeSuggestIndex::putIfAbsent);
+            return null;
+          });
+    } finally {
+      employeeSuggestIndex.endWarmUp();
+    }
+    log.info("Employee suggest index built in {} ms", (System.nanoTime() - start) / 1_000_000);
+  }
+}
@@ -0,0 +1,64 @@
+package com.ritesh.testing.cache;
+
+import com.ritesh.testing.exception.LookupTimeoutException;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one call per key at a time. The first caller for a key runs the call on its own
+ * thread, with its own transaction and routing; callers arriving while it is in flight wait for
+ * the same result, or the same exception, instead of issuing a duplicate query. Nothing is kept
+ * once the call completes, so this only merges calls that overlap, it does not cache.
+ */
+public final class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final long timeoutNanos;
+
+  public SingleFlight(Duration timeout) {
+    this.timeoutNanos = timeout.toNanos();
+  }
+
+  public V execute(K key, Supplier<V> call) {
+    CompletableFuture<V> flight = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+    if (existing != null) {
+      return await(key, existing);
+    }
+    try {
+      V value = call.get();
+      flight.complete(value);
+      return value;
+    } catch (RuntimeException | Error e) {
+      flight.completeExceptionally(e);
+      throw e;
+    } finally {
+      inFlight.remove(key, flight);
+    }
+  }
+
+  private V await(K key, CompletableFuture<V> flight) {
+    try {
+      return flight.get(timeoutNanos, TimeUnit.NANOSECONDS);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw (Error) cause;
+    } catch (TimeoutException e) {
+      // waiters give up rather than piling their own queries onto a database that is already slow
+      throw new LookupTimeoutException("Timed out waiting for lookup of " + key);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new LookupTimeoutException("Interrupted waiting for lookup of " + key);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package com.ritesh.testing.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+// The pool is deliberately not published as a ConnectionFactory bean: Spring Boot turns off the
+// JDBC DataSource auto-configuration, which the blocking JPA stack needs, as soon as one exists.
+@Configuration(proxyBeanMethods = false)
+public class ReactiveDatabaseConfig implements DisposableBean {
+
+  private final ConnectionPool connectionPool;
+
+  public ReactiveDatabaseConfig(
+      @Value("${app.reactive.r2dbc.url}") String url,
+      @Value("${app.reactive.r2dbc.username}") String username,
+      @Value("${app.reactive.r2dbc.password}") String password,
+      @Value("${app.reactive.r2dbc.pool.max-size:20}") int maxSize) {
+    ConnectionFactory connectionFactory =
+        ConnectionFactories.get(
+            ConnectionFactoryOptions.parse(url)
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+    this.connectionPool =
+        new ConnectionPool(
+            ConnectionPoolConfiguration.builder(connectionFactory).maxSize(maxSize).build());
+  }
+
+  @Bean
+  public DatabaseClient reactiveDatabaseClient() {
+    return DatabaseClient.create(connectionPool);
+  }
+
+  @Bean
+  public TransactionalOperator reactiveTransactionalOperator() {
+    return TransactionalOperator.create(new R2dbcTransactionManager(connectionPool));
+  }
+
+  @Override
+  public void destroy() {
+    connectionPool.dispose();
+  }
+}
@@ -0,0 +1,71 @@
+package com.ritesh.testing.config;
+
+import com.ritesh.testing.datasource.ReadReplicaJpaDialect;
+import com.ritesh.testing.datasource.ReadReplicaRoutingDataSource;
+import com.ritesh.testing.datasource.ReadYourWritesFilter;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Splits JDBC traffic between spring.datasource (writes) and app.datasource.replica (read-only
+// transactions). Only active when a replica URL is configured; otherwise Boot's single pool is used.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "app.datasource.replica.jdbc-url")
+public class ReadReplicaDataSourceConfig {
+
+  @Bean(destroyMethod = "close")
+  @ConfigurationProperties("spring.datasource.hikari")
+  public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+    return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+  }
+
+  @Bean(destroyMethod = "close")
+  @ConfigurationProperties("app.datasource.replica")
+  public HikariDataSource replicaDataSource() {
+    return new HikariDataSource();
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(
+      @Qualifier("primaryDataSource") DataSource primaryDataSource,
+      @Qualifier("replicaDataSource") DataSource replicaDataSource,
+      @Value("${app.datasource.routing.replica-retry-after:30s}") Duration replicaRetryAfter) {
+    return new LazyConnectionDataSourceProxy(
+        new ReadReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaRetryAfter));
+  }
+
+  @Bean
+  public ReadYourWritesFilter readYourWritesFilter(
+      @Value("${app.datasource.routing.read-your-writes:5s}") Duration stickiness) {
+    return new ReadYourWritesFilter(stickiness);
+  }
+
+  // set before the factory initializes, so JpaTransactionManager picks the dialect up from it
+  @Bean
+  public static BeanPostProcessor readReplicaJpaDialect() {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof LocalContainerEntityManagerFactoryBean) {
+          LocalContainerEntityManagerFactoryBean factory =
+              (LocalContainerEntityManagerFactoryBean) bean;
+          factory.setJpaDialect(new ReadReplicaJpaDialect());
+        }
+        return bean;
+      }
+    };
+  }
+}
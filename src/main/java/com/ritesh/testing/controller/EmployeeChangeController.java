@@ -0,0 +1,61 @@
+package com.ritesh.testing.controller;
+
+import com.ritesh.testing.model.EmployeeChange;
+import com.ritesh.testing.outbox.EmployeeChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/employee/events")
+public class EmployeeChangeController {
+
+  private static final String LAST_EVENT_ID = "Last-Event-ID";
+
+  private final EmployeeChangeFeed employeeChangeFeed;
+
+  public EmployeeChangeController(EmployeeChangeFeed employeeChangeFeed) {
+    this.employeeChangeFeed = employeeChangeFeed;
+  }
+
+  // EventSource clients reconnect with Last-Event-ID and resume where they left off; other clients
+  // pass the last id they processed as ?after=
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamChanges(
+      @RequestParam(value = "after", required = false) Long after,
+      @RequestHeader(value = LAST_EVENT_ID, required = false) Long lastEventId) {
+    SseEmitter emitter = new SseEmitter();
+    EmployeeChangeFeed.Subscription subscription =
+        employeeChangeFeed.subscribe(
+            lastEventId != null ? lastEventId : after,
+            new EmployeeChangeFeed.Listener() {
+              @Override
+              public void onChanges(List<EmployeeChange> changes) throws Exception {
+                for (EmployeeChange change : changes) {
+                  emitter.send(
+                      SseEmitter.event()
+                          .id(String.valueOf(change.getId()))
+                          .name(change.getType().name().toLowerCase(Locale.ROOT))
+                          .data(change, MediaType.APPLICATION_JSON));
+                }
+              }
+
+              @Override
+              public void onIdle() throws Exception {
+                // keeps proxies from closing the connection and detects clients that went away
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+              }
+            });
+    emitter.onCompletion(subscription::cancel);
+    emitter.onTimeout(subscription::cancel);
+    emitter.onError(e -> subscription.cancel());
+    return emitter;
+  }
+}
@@ -1,22 +1,76 @@
 package com.ritesh.testing.controller;
 
-import com.ritesh.testing.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ritesh.testing.cache.EmployeeSuggestIndex;
+import com.ritesh.testing.exception.BadRequestException;
+import com.ritesh.testing.model.CursorPage;
 import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeBatch;
+import com.ritesh.testing.model.EmployeeDelta;
+import com.ritesh.testing.model.EmployeeSearch;
+import com.ritesh.testing.model.EmployeeSuggestion;
+import com.ritesh.testing.model.EmployeeVersion;
+import com.ritesh.testing.model.SearchPage;
 import com.ritesh.testing.service.EmployeeService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @RestController
 @RequestMapping("/api/employee")
 public class EmployeeController {
 
+  private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+  // RFC 8742: CBOR data items back to back
+  private static final String APPLICATION_CBOR_SEQ_VALUE = "application/cbor-seq";
+  private static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+  private static final MediaType APPLICATION_NDJSON =
+      MediaType.parseMediaType(APPLICATION_NDJSON_VALUE);
+  private static final ResponseEntity<?> NOT_FOUND = ResponseEntity.notFound().build();
+  private static final String IF_MATCH_ANY = "*";
+  private static final Pattern VERSION_TAG = Pattern.compile("\"(\\d{1,9})\"");
+
+  private static final int DEFAULT_SUGGEST_SIZE = 10;
+  private static final int MAX_SUGGEST_SIZE = 50;
+
   private final EmployeeService employeeService;
+  private final EmployeeSuggestIndex employeeSuggestIndex;
+  // export formats in order of preference; NDJSON is the default
+  private final Map<MediaType, ObjectMapper> exportMappers = new LinkedHashMap<>();
 
-  public EmployeeController(EmployeeService employeeService) {
+  public EmployeeController(
+      EmployeeService employeeService,
+      EmployeeSuggestIndex employeeSuggestIndex,
+      ObjectMapper objectMapper) {
     this.employeeService = employeeService;
+    this.employeeSuggestIndex = employeeSuggestIndex;
+    exportMappers.put(APPLICATION_NDJSON, objectMapper);
+    exportMappers.put(
+        MediaType.parseMediaType(APPLICATION_CBOR_SEQ_VALUE),
+        Jackson2ObjectMapperBuilder.cbor().build());
+    exportMappers.put(
+        MediaType.parseMediaType(APPLICATION_SMILE_VALUE),
+        Jackson2ObjectMapperBuilder.smile().build());
   }
 
   @PostMapping
@@ -25,37 +79,266 @@ public class EmployeeController {
     return employeeService.saveEmployee(employee);
   }
 
+  @PostMapping("/bulk")
+  @ResponseStatus(HttpStatus.CREATED)
+  public List<Employee> createEmployees(@RequestBody List<Employee> employees) {
+    return employeeService.saveEmployees(employees);
+  }
+
   @GetMapping
-  public List<Employee> getEmployees() {
-    return employeeService.getAllEmployees();
+  public ResponseEntity<CursorPage<Employee>> getEmployees(
+      @RequestParam(value = "after", required = false) Integer after,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    if (ifNoneMatch != null) {
+      // revalidate against (id, version) pairs before loading and serializing the full rows
+      String eTag =
+          pageETag(
+              employeeService.getEmployeeVersions(after, limit),
+              EmployeeVersion::getId,
+              EmployeeVersion::getVersion);
+      if (matches(ifNoneMatch, eTag)) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+      }
+    }
+    CursorPage<Employee> page = employeeService.getEmployees(after, limit);
+    return ResponseEntity.ok()
+        .eTag(pageETag(page, Employee::getId, Employee::getVersion))
+        .body(page);
+  }
+
+  // many employees in one call, in request order; unknown ids come back under "missing"
+  @GetMapping(params = "ids")
+  public EmployeeBatch getEmployeesByIds(@RequestParam("ids") List<Integer> ids) {
+    return employeeService.findEmployees(ids);
+  }
+
+  // multi-get has no projection; matching both params keeps this from being an ambiguous mapping
+  @GetMapping(params = {"ids", "fields"})
+  public EmployeeBatch getEmployeeFieldsByIds() {
+    throw new BadRequestException("fields cannot be combined with ids");
+  }
+
+  // the same for id lists too long for a query string
+  @PostMapping("/lookup")
+  public EmployeeBatch lookupEmployees(@RequestBody List<Integer> ids) {
+    return employeeService.findEmployees(ids);
+  }
+
+  @GetMapping(params = "fields")
+  public ResponseEntity<CursorPage<Map<String, Object>>> getEmployeeFields(
+      @RequestParam(value = "after", required = false) Integer after,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam("fields") Set<String> fields) {
+    return new ResponseEntity<>(employeeService.getEmployees(after, limit, fields), HttpStatus.OK);
+  }
+
+  @GetMapping("/search")
+  public ResponseEntity<SearchPage<Employee>> searchEmployees(
+      EmployeeSearch search,
+      @RequestParam(value = "after", required = false) Integer after,
+      @RequestParam(value = "limit", required = false) Integer limit,
+      @RequestParam(value = "count", defaultValue = "false") boolean count) {
+    return new ResponseEntity<>(
+        employeeService.searchEmployees(search, after, limit, count), HttpStatus.OK);
+  }
+
+  // delta sync: only rows created, updated or deleted after the watermark, oldest first
+  @GetMapping("/changes")
+  public EmployeeDelta getChanges(
+      @RequestParam(value = "since", required = false) String since,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    return employeeService.getChanges(since, limit);
+  }
+
+  @GetMapping("/suggest")
+  public List<EmployeeSuggestion> suggestEmployees(
+      @RequestParam("q") String query,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    int size =
+        limit == null ? DEFAULT_SUGGEST_SIZE : Math.min(Math.max(limit, 1), MAX_SUGGEST_SIZE);
+    return employeeSuggestIndex.suggest(query, size);
+  }
+
+  @GetMapping(
+      value = "/export",
+      produces = {APPLICATION_NDJSON_VALUE, APPLICATION_CBOR_SEQ_VALUE, APPLICATION_SMILE_VALUE})
+  public ResponseEntity<StreamingResponseBody> exportEmployees(
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+    return this.<Employee>export(accept, Employee.class, employeeService::exportEmployees);
+  }
+
+  @GetMapping(
+      value = "/export",
+      params = "fields",
+      produces = {APPLICATION_NDJSON_VALUE, APPLICATION_CBOR_SEQ_VALUE, APPLICATION_SMILE_VALUE})
+  public ResponseEntity<StreamingResponseBody> exportEmployeeFields(
+      @RequestParam("fields") Set<String> fields,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+    return this.<Map<String, Object>>export(
+        accept, Map.class, consumer -> employeeService.exportEmployees(fields, consumer));
   }
 
   @GetMapping("/{id}")
-  public ResponseEntity<Employee> getEmployeeById(@PathVariable("id") Integer id) {
-    try {
-      Employee employee = employeeService.findEmployeeById(id);
-      return new ResponseEntity<>(employee, HttpStatus.OK);
-    } catch (ResourceNotFoundException e) {
-      return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+  public ResponseEntity<Employee> getEmployeeById(
+      @PathVariable("id") Integer id,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    // the ETag and the body come from one lookup, so a 304 is never answered from a source that
+    // lags behind the representation a 200 would send
+    Optional<Employee> employee = employeeService.findEmployee(id);
+    if (employee.isEmpty()) {
+      return notFound();
+    }
+    Integer version = employee.get().getVersion();
+    if (ifNoneMatch != null && version != null && matches(ifNoneMatch, eTag(version))) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag(version)).build();
     }
+    return withETag(ResponseEntity.ok(), version).body(employee.get());
+  }
+
+  @GetMapping(value = "/{id}", params = "fields")
+  public ResponseEntity<Map<String, Object>> getEmployeeFieldsById(
+      @PathVariable("id") Integer id, @RequestParam("fields") Set<String> fields) {
+    return employeeService
+        .findEmployee(id, fields)
+        .map(ResponseEntity::ok)
+        .orElseGet(EmployeeController::notFound);
   }
 
   @PutMapping("/{id}")
   public ResponseEntity<Employee> updateEmployee(
-      @PathVariable("id") Integer employeeId, @RequestBody Employee employee) {
-    try {
-      Employee saveEmployee = employeeService.findEmployeeById(employeeId);
-      employee.setId(employeeId);
-      employeeService.updateEmployee(employee);
-      return new ResponseEntity<>(employee, HttpStatus.OK);
-    } catch (ResourceNotFoundException e) {
-      return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+      @PathVariable("id") Integer employeeId,
+      @RequestBody Employee employee,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    employee.setId(employeeId);
+    if (ifMatch != null && !IF_MATCH_ANY.equals(ifMatch.trim())) {
+      Integer version = version(ifMatch);
+      if (version == null) {
+        return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+      }
+      employee.setVersion(version);
     }
+    Employee updatedEmployee = employeeService.updateEmployee(employee);
+    return withETag(ResponseEntity.ok(), updatedEmployee.getVersion()).body(updatedEmployee);
   }
 
   @DeleteMapping("/{id}")
-  public ResponseEntity<String> deleteEmployee(@PathVariable("id") Integer employeeId) {
-    employeeService.deleteEmployee(employeeId);
+  public ResponseEntity<String> deleteEmployee(
+      @PathVariable("id") Integer employeeId,
+      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+    if (ifMatch == null || IF_MATCH_ANY.equals(ifMatch.trim())) {
+      employeeService.deleteEmployee(employeeId);
+      return new ResponseEntity<>("Employee deleted successfully", HttpStatus.OK);
+    }
+    Integer version = version(ifMatch);
+    if (version == null) {
+      return new ResponseEntity<>(HttpStatus.PRECONDITION_FAILED);
+    }
+    employeeService.deleteEmployee(employeeId, version);
     return new ResponseEntity<>("Employee deleted successfully", HttpStatus.OK);
   }
+
+  private <T> ResponseEntity<StreamingResponseBody> export(
+      String accept, Class<?> type, Consumer<Consumer<T>> exporter) {
+    MediaType mediaType = exportMediaType(accept);
+    ObjectMapper mapper = exportMappers.get(mediaType);
+    // one flush per row would turn every row into its own chunk
+    ObjectWriter writer =
+        mapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    StreamingResponseBody body;
+    if (APPLICATION_NDJSON.equals(mediaType)) {
+      body =
+          outputStream ->
+              exporter.accept(
+                  row -> {
+                    try {
+                      outputStream.write(writer.writeValueAsBytes(row));
+                      outputStream.write('\n');
+                    } catch (IOException e) {
+                      throw new UncheckedIOException(e);
+                    }
+                  });
+    } else {
+      // binary formats need no separator: values are written back to back through one generator
+      body =
+          outputStream -> {
+            try (JsonGenerator generator = mapper.getFactory().createGenerator(outputStream)) {
+              generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+              exporter.accept(
+                  row -> {
+                    try {
+                      writer.writeValue(generator, row);
+                    } catch (IOException e) {
+                      throw new UncheckedIOException(e);
+                    }
+                  });
+            }
+          };
+    }
+    return ResponseEntity.ok().contentType(mediaType).body(body);
+  }
+
+  private MediaType exportMediaType(String accept) {
+    if (accept != null) {
+      for (MediaType requested :
+          MediaType.sortBySpecificityAndQuality(MediaType.parseMediaTypes(accept))) {
+        for (MediaType supported : exportMappers.keySet()) {
+          if (requested.includes(supported)) {
+            return supported;
+          }
+        }
+      }
+    }
+    return APPLICATION_NDJSON;
+  }
+
+  // ResponseEntity is immutable, so every miss shares one instance
+  @SuppressWarnings("unchecked")
+  private static <T> ResponseEntity<T> notFound() {
+    return (ResponseEntity<T>) NOT_FOUND;
+  }
+
+  private static String eTag(Integer version) {
+    return "\"" + version + "\"";
+  }
+
+  private static ResponseEntity.BodyBuilder withETag(
+      ResponseEntity.BodyBuilder builder, Integer version) {
+    return version == null ? builder : builder.eTag(eTag(version));
+  }
+
+  // a page changes when any row's version changes, rows come or go, or the next cursor moves; the
+  // tag is weak because Tomcat will not gzip a response carrying a strong one
+  private static <T> String pageETag(
+      CursorPage<T> page, Function<T, Integer> id, Function<T, Integer> version) {
+    long hash = 17;
+    for (T row : page.getContent()) {
+      hash = 31 * hash + Objects.hashCode(id.apply(row));
+      hash = 31 * hash + Objects.hashCode(version.apply(row));
+    }
+    hash = 31 * hash + Objects.hashCode(page.getNextCursor());
+    return "W/\"" + Long.toHexString(hash) + "\"";
+  }
+
+  // If-None-Match uses weak comparison, so the W/ prefix is ignored on either side
+  private static boolean matches(String ifNoneMatch, String eTag) {
+    String opaqueTag = opaqueTag(eTag);
+    for (String tag : ifNoneMatch.split(",")) {
+      String candidate = tag.trim();
+      if (candidate.equals(IF_MATCH_ANY) || opaqueTag(candidate).equals(opaqueTag)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String opaqueTag(String eTag) {
+    return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+  }
+
+  // If-Match uses strong comparison against a single version tag
+  private static Integer version(String ifMatch) {
+    Matcher matcher = VERSION_TAG.matcher(ifMatch.trim());
+    return matcher.matches() ? Integer.valueOf(matcher.group(1)) : null;
+  }
 }
@@ -0,0 +1,49 @@
+package com.ritesh.testing.controller;
+
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.WriteTicket;
+import com.ritesh.testing.service.EmployeeWriteBehindService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/employee/async")
+@ConditionalOnProperty(name = "app.write-behind.enabled", havingValue = "true")
+public class EmployeeWriteBehindController {
+
+  private final EmployeeWriteBehindService employeeWriteBehindService;
+
+  public EmployeeWriteBehindController(EmployeeWriteBehindService employeeWriteBehindService) {
+    this.employeeWriteBehindService = employeeWriteBehindService;
+  }
+
+  @PostMapping
+  public ResponseEntity<WriteTicket> createEmployee(@RequestBody Employee employee) {
+    return accepted(employeeWriteBehindService.submitCreate(employee));
+  }
+
+  @PutMapping("/{id}")
+  public ResponseEntity<WriteTicket> updateEmployee(
+      @PathVariable("id") Integer employeeId, @RequestBody Employee employee) {
+    employee.setId(employeeId);
+    return accepted(employeeWriteBehindService.submitUpdate(employee));
+  }
+
+  @GetMapping("/{token}")
+  public ResponseEntity<WriteTicket> getTicket(@PathVariable("token") String token) {
+    return employeeWriteBehindService
+        .findTicket(token)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+  }
+
+  private ResponseEntity<WriteTicket> accepted(WriteTicket ticket) {
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/employee/async/" + ticket.getToken()))
+        .body(ticket);
+  }
+}
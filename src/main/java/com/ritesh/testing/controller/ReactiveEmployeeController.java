@@ -0,0 +1,72 @@
+package com.ritesh.testing.controller;
+
+import com.ritesh.testing.model.CursorPage;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.service.ReactiveEmployeeService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Served by Spring MVC, not WebFlux: the app runs on the servlet stack. MVC subscribes to each Mono
+// and Flux and completes the request asynchronously, and the R2DBC driver never blocks a thread,
+// but every /stream element is a blocking servlet write on the application task executor. A slow
+// client therefore holds one of its threads for as long as it reads, unless
+// app.threads.virtual.enabled puts that executor on virtual threads.
+@RestController
+@RequestMapping("/api/reactive/employee")
+public class ReactiveEmployeeController {
+
+  private final ReactiveEmployeeService reactiveEmployeeService;
+
+  public ReactiveEmployeeController(ReactiveEmployeeService reactiveEmployeeService) {
+    this.reactiveEmployeeService = reactiveEmployeeService;
+  }
+
+  @PostMapping
+  @ResponseStatus(HttpStatus.CREATED)
+  public Mono<Employee> createEmployee(@RequestBody Employee employee) {
+    return reactiveEmployeeService.saveEmployee(employee);
+  }
+
+  @GetMapping
+  public Mono<CursorPage<Employee>> getEmployees(
+      @RequestParam(value = "after", required = false) Integer after,
+      @RequestParam(value = "limit", required = false) Integer limit) {
+    return reactiveEmployeeService.getEmployees(after, limit);
+  }
+
+  // streamed element by element; the next row is only requested once the previous one is written
+  @GetMapping(
+      value = "/stream",
+      produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  public Flux<Employee> streamEmployees() {
+    return reactiveEmployeeService.getAllEmployees();
+  }
+
+  @GetMapping("/{id}")
+  public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable("id") Integer id) {
+    return reactiveEmployeeService
+        .findEmployee(id)
+        .map(ResponseEntity::ok)
+        .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+  }
+
+  @PutMapping("/{id}")
+  public Mono<ResponseEntity<Employee>> updateEmployee(
+      @PathVariable("id") Integer employeeId, @RequestBody Employee employee) {
+    employee.setId(employeeId);
+    return reactiveEmployeeService
+        .updateEmployee(employee)
+        .map(ResponseEntity::ok);
+  }
+
+  @DeleteMapping("/{id}")
+  public Mono<ResponseEntity<String>> deleteEmployee(@PathVariable("id") Integer employeeId) {
+    return reactiveEmployeeService
+        .deleteEmployee(employeeId)
+        .thenReturn(new ResponseEntity<>("Employee deleted successfully", HttpStatus.OK));
+  }
+}
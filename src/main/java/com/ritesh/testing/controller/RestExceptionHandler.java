@@ -0,0 +1,58 @@
+package com.ritesh.testing.controller;
+
+import com.ritesh.testing.exception.BadRequestException;
+import com.ritesh.testing.exception.LookupTimeoutException;
+import com.ritesh.testing.exception.ResourceConflictException;
+import com.ritesh.testing.exception.ResourceNotFoundException;
+import com.ritesh.testing.exception.StaleVersionException;
+import com.ritesh.testing.exception.WriteQueueFullException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+
+// the one place service exceptions become statuses; the most specific handler wins, so the
+// StaleVersionException below takes precedence over ResourceConflictException
+@RestControllerAdvice
+public class RestExceptionHandler {
+
+  @ExceptionHandler(ResourceNotFoundException.class)
+  public ResponseEntity<Void> handleNotFound() {
+    return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+  }
+
+  @ExceptionHandler(ResourceConflictException.class)
+  public ResponseEntity<Void> handleConflict() {
+    return new ResponseEntity<>(HttpStatus.CONFLICT);
+  }
+
+  // a conditional request that lost the race failed its precondition; a plain one conflicted
+  @ExceptionHandler(StaleVersionException.class)
+  public ResponseEntity<Void> handleStaleVersion(WebRequest request) {
+    return new ResponseEntity<>(
+        request.getHeader(HttpHeaders.IF_MATCH) != null
+            ? HttpStatus.PRECONDITION_FAILED
+            : HttpStatus.CONFLICT);
+  }
+
+  @ExceptionHandler(BadRequestException.class)
+  public ResponseEntity<Void> handleBadRequest() {
+    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+  }
+
+  @ExceptionHandler(LookupTimeoutException.class)
+  public ResponseEntity<Void> handleLookupTimeout() {
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .build();
+  }
+
+  @ExceptionHandler(WriteQueueFullException.class)
+  public ResponseEntity<String> handleQueueFull(WriteQueueFullException e) {
+    return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+        .header(HttpHeaders.RETRY_AFTER, "1")
+        .body(e.getMessage());
+  }
+}
@@ -0,0 +1,29 @@
+package com.ritesh.testing.datasource;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import javax.persistence.EntityManager;
+import java.sql.SQLException;
+
+/**
+ * Keeps rows read from the replica out of Hibernate's second-level and query caches. Sessions of
+ * transactions that {@link ReadReplicaRoutingDataSource} sends to the replica may still read those
+ * caches, but only the primary fills them, so a lagging replica cannot hand an old row to every
+ * later reader until the entry expires.
+ */
+public class ReadReplicaJpaDialect extends HibernateJpaDialect {
+
+  @Override
+  public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+      throws SQLException {
+    Object transactionData = super.beginTransaction(entityManager, definition);
+    boolean replicaRead = definition.isReadOnly() && !ReplicaRouting.primaryRequired();
+    entityManager
+        .unwrap(Session.class)
+        .setCacheMode(replicaRead ? CacheMode.GET : CacheMode.NORMAL);
+    return transactionData;
+  }
+}
@@ -0,0 +1,81 @@
+package com.ritesh.testing.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary.
+ * The routing decision needs the transaction's read-only flag, so this must sit behind a {@code
+ * LazyConnectionDataSourceProxy} that only fetches the connection at the first statement. When the
+ * replica cannot hand out a connection, reads fall back to the primary and the replica is not tried
+ * again until the retry delay has passed.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractDataSource {
+
+  private static final Logger log = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+  private final DataSource primary;
+  private final DataSource replica;
+  private final long retryAfterNanos;
+  private volatile long replicaRetryAt;
+  private volatile boolean replicaDown;
+
+  public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration retryAfter) {
+    this.primary = primary;
+    this.replica = replica;
+    this.retryAfterNanos = retryAfter.toNanos();
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (useReplica()) {
+      try {
+        Connection connection = replica.getConnection();
+        if (replicaDown) {
+          replicaDown = false;
+          log.info("Read replica available again");
+        }
+        return connection;
+      } catch (SQLException e) {
+        markReplicaDown(e);
+      }
+    }
+    return primaryConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    // credentials belong to one database, so this never routes
+    return primary.getConnection(username, password);
+  }
+
+  private Connection primaryConnection() throws SQLException {
+    Connection connection = primary.getConnection();
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+      ReplicaRouting.recordWrite();
+    }
+    return connection;
+  }
+
+  private boolean useReplica() {
+    return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        && !ReplicaRouting.primaryRequired()
+        && (!replicaDown || System.nanoTime() - replicaRetryAt >= 0);
+  }
+
+  private void markReplicaDown(SQLException e) {
+    replicaRetryAt = System.nanoTime() + retryAfterNanos;
+    if (!replicaDown) {
+      log.warn("Read replica unavailable, reading from the primary", e);
+    }
+    replicaDown = true;
+  }
+}
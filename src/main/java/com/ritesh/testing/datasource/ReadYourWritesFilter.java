@@ -0,0 +1,72 @@
+package com.ritesh.testing.datasource;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Read-your-writes for clients of a lagging replica. The first write of a request sets a short-lived
+ * cookie, and while a client presents it all its reads go to the primary. The rest of the writing
+ * request is pinned to the primary as well.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  public static final String COOKIE_NAME = "replica-sticky";
+
+  private final int stickySeconds;
+
+  public ReadYourWritesFilter(Duration stickiness) {
+    // round up so any positive duration keeps the cookie for at least a second
+    this.stickySeconds = (int) Math.min(Integer.MAX_VALUE, (stickiness.toMillis() + 999) / 1000);
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    if (stickySeconds == 0) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+    if (hasStickyCookie(request)) {
+      ReplicaRouting.stickToPrimary();
+    }
+    ReplicaRouting.onWrite(
+        () -> {
+          // one cookie per request is enough
+          ReplicaRouting.onWrite(null);
+          ReplicaRouting.stickToPrimary();
+          if (!response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE_NAME, "1");
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge(stickySeconds);
+            response.addCookie(cookie);
+          }
+        });
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReplicaRouting.clear();
+    }
+  }
+
+  private static boolean hasStickyCookie(HttpServletRequest request) {
+    Cookie[] cookies = request.getCookies();
+    if (cookies == null) {
+      return false;
+    }
+    for (Cookie cookie : cookies) {
+      if (COOKIE_NAME.equals(cookie.getName())) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
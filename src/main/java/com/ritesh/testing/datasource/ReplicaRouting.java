@@ -0,0 +1,52 @@
+package com.ritesh.testing.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread routing hints for {@link ReadReplicaRoutingDataSource}. Code that must not see replica
+ * lag runs inside {@link #onPrimary(Supplier)}; {@link ReadYourWritesFilter} pins a whole request to
+ * the primary once its client has written.
+ */
+public final class ReplicaRouting {
+
+  private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+  private static final ThreadLocal<Runnable> WRITE_LISTENER = new ThreadLocal<>();
+
+  private ReplicaRouting() {}
+
+  public static <T> T onPrimary(Supplier<T> action) {
+    Boolean previous = PRIMARY.get();
+    PRIMARY.set(Boolean.TRUE);
+    try {
+      return action.get();
+    } finally {
+      if (previous == null) {
+        PRIMARY.remove();
+      }
+    }
+  }
+
+  static boolean primaryRequired() {
+    return PRIMARY.get() != null;
+  }
+
+  static void stickToPrimary() {
+    PRIMARY.set(Boolean.TRUE);
+  }
+
+  static void onWrite(Runnable listener) {
+    WRITE_LISTENER.set(listener);
+  }
+
+  static void recordWrite() {
+    Runnable listener = WRITE_LISTENER.get();
+    if (listener != null) {
+      listener.run();
+    }
+  }
+
+  static void clear() {
+    PRIMARY.remove();
+    WRITE_LISTENER.remove();
+  }
+}
@@ -0,0 +1,14 @@
+package com.ritesh.testing.exception;
+
+// stackless for the same reason as ResourceNotFoundException; only this one becomes a 400, so an
+// IllegalArgumentException from a bug still surfaces as a server error
+public class BadRequestException extends RuntimeException {
+
+  public BadRequestException(String msg) {
+    super(msg, null, false, false);
+  }
+
+  public BadRequestException(String msg, Throwable throwable) {
+    super(msg, throwable, false, false);
+  }
+}
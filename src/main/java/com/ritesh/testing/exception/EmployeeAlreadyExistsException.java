@@ -0,0 +1,12 @@
+package com.ritesh.testing.exception;
+
+public class EmployeeAlreadyExistsException extends ResourceConflictException {
+
+  public EmployeeAlreadyExistsException(String msg) {
+    super(msg);
+  }
+
+  public EmployeeAlreadyExistsException(String msg, Throwable throwable) {
+    super(msg, throwable);
+  }
+}
@@ -0,0 +1,9 @@
+package com.ritesh.testing.exception;
+
+// stackless: raised to every caller left waiting on a slow shared lookup at once
+public class LookupTimeoutException extends RuntimeException {
+
+  public LookupTimeoutException(String msg) {
+    super(msg, null, false, false);
+  }
+}
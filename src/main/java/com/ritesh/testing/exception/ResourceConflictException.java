@@ -0,0 +1,13 @@
+package com.ritesh.testing.exception;
+
+// stackless for the same reason as ResourceNotFoundException
+public class ResourceConflictException extends RuntimeException {
+
+  public ResourceConflictException(String msg) {
+    super(msg, null, false, false);
+  }
+
+  public ResourceConflictException(String msg, Throwable throwable) {
+    super(msg, throwable, false, false);
+  }
+}
@@ -1,12 +1,13 @@
 package com.ritesh.testing.exception;
 
+// stackless: thrown for expected outcomes and mapped to a status, the trace is never read
 public class ResourceNotFoundException extends RuntimeException {
 
   public ResourceNotFoundException(String msg) {
-    super(msg);
+    super(msg, null, false, false);
   }
 
   public ResourceNotFoundException(String msg, Throwable throwable) {
-    super(msg, throwable);
+    super(msg, throwable, false, false);
   }
 }
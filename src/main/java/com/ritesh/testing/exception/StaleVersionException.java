@@ -0,0 +1,8 @@
+package com.ritesh.testing.exception;
+
+public class StaleVersionException extends ResourceConflictException {
+
+  public StaleVersionException(String msg) {
+    super(msg);
+  }
+}
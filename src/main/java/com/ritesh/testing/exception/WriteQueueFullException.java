@@ -0,0 +1,9 @@
+package com.ritesh.testing.exception;
+
+// stackless: raised under overload, when filling in traces is the last thing we can afford
+public class WriteQueueFullException extends RuntimeException {
+
+  public WriteQueueFullException(String msg) {
+    super(msg, null, false, false);
+  }
+}
@@ -0,0 +1,227 @@
+package com.ritesh.testing.importer;
+
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeImportReport;
+import com.ritesh.testing.repository.EmployeeRepository;
+import com.ritesh.testing.service.EmployeeService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Imports employees from a CSV file with a {@code first_name,last_name,email} header, columns in
+ * any order. Rows are read in batches. Each batch is validated in parallel, checked for emails
+ * taken earlier in the file or already stored with one query, and inserted in one transaction
+ * through {@link EmployeeService#saveEmployees}, so JDBC batching, the outbox and the caches all
+ * apply. Rejected rows are reported by line instead of failing the import.
+ */
+@Component
+public class EmployeeCsvImporter {
+
+  private static final Logger log = LoggerFactory.getLogger(EmployeeCsvImporter.class);
+
+  // matches the length of the employee columns
+  private static final int MAX_LENGTH = 255;
+  private static final long PROGRESS_INTERVAL = 100_000;
+
+  private final EmployeeService employeeService;
+  private final EmployeeRepository employeeRepository;
+  private final int batchSize;
+  private final int maxReportedErrors;
+
+  public EmployeeCsvImporter(
+      EmployeeService employeeService,
+      EmployeeRepository employeeRepository,
+      @Value("${app.import.batch-size:1000}") int batchSize,
+      @Value("${app.import.max-reported-errors:1000}") int maxReportedErrors) {
+    this.employeeService = employeeService;
+    this.employeeRepository = employeeRepository;
+    this.batchSize = batchSize;
+    this.maxReportedErrors = maxReportedErrors;
+  }
+
+  public EmployeeImportReport importFile(Path file) throws IOException {
+    return importFile(file, EmployeeCsvReader.DEFAULT_WINDOW_SIZE);
+  }
+
+  EmployeeImportReport importFile(Path file, long windowSize) throws IOException {
+    ImportRun run = new ImportRun();
+    try (EmployeeCsvReader reader = new EmployeeCsvReader(file, windowSize)) {
+      List<String> header = reader.next();
+      if (header == null) {
+        throw new IllegalArgumentException("Empty employee file :: " + file);
+      }
+      int[] columns = {
+        column(header, "first_name"), column(header, "last_name"), column(header, "email")
+      };
+      List<Row> batch = new ArrayList<>(batchSize);
+      List<String> fields;
+      while ((fields = reader.next()) != null) {
+        batch.add(new Row(reader.lineNumber(), fields));
+        if (batch.size() == batchSize) {
+          importBatch(batch, columns, run);
+          batch.clear();
+        }
+      }
+      importBatch(batch, columns, run);
+    }
+    long nanos = System.nanoTime() - run.start;
+    return new EmployeeImportReport(
+        run.rowsRead,
+        run.rowsImported,
+        run.rowsRead - run.rowsImported,
+        run.errors,
+        nanos / 1_000_000,
+        nanos == 0 ? 0 : run.rowsRead * 1e9 / nanos);
+  }
+
+  private void importBatch(List<Row> batch, int[] columns, ImportRun run) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    // validation is independent per row; each row is only written by the thread that checks it
+    batch.parallelStream().forEach(row -> validate(row, columns));
+
+    List<Row> candidates = new ArrayList<>(batch.size());
+    for (Row row : batch) {
+      if (row.error == null && !run.emails.add(normalize(row.employee.getEmail()))) {
+        row.error = "Duplicate email in file :: " + row.employee.getEmail();
+      }
+      if (row.error == null) {
+        candidates.add(row);
+      }
+    }
+    if (!candidates.isEmpty()) {
+      List<String> emails = new ArrayList<>(candidates.size());
+      candidates.forEach(row -> emails.add(row.employee.getEmail()));
+      Set<String> existing = new HashSet<>();
+      for (String email : employeeRepository.findExistingEmails(emails)) {
+        existing.add(normalize(email));
+      }
+      candidates.removeIf(
+          row -> {
+            if (existing.contains(normalize(row.employee.getEmail()))) {
+              row.error = "Employee already exist with email :: " + row.employee.getEmail();
+              return true;
+            }
+            return false;
+          });
+      insert(candidates);
+    }
+
+    for (Row row : batch) {
+      run.rowsRead++;
+      if (row.error == null) {
+        run.rowsImported++;
+      } else if (run.errors.size() < maxReportedErrors) {
+        run.errors.add(new EmployeeImportReport.RowError(row.line, row.error));
+      }
+      if (run.rowsRead % PROGRESS_INTERVAL == 0) {
+        long nanos = System.nanoTime() - run.start;
+        log.info(
+            "Employee import: {} rows read, {} rows/s", run.rowsRead, run.rowsRead * 1e9 / nanos);
+      }
+    }
+  }
+
+  private void insert(List<Row> rows) {
+    if (rows.isEmpty()) {
+      return;
+    }
+    List<Employee> employees = new ArrayList<>(rows.size());
+    rows.forEach(row -> employees.add(row.employee));
+    try {
+      employeeService.saveEmployees(employees);
+    } catch (RuntimeException e) {
+      // the batch rolled back, most likely over an email inserted concurrently since the check:
+      // replay it row by row so only the offending rows are rejected
+      for (Row row : rows) {
+        try {
+          employeeService.saveEmployee(row.employee);
+        } catch (RuntimeException rowException) {
+          row.error = rowException.getMessage();
+        }
+      }
+    }
+  }
+
+  private static void validate(Row row, int[] columns) {
+    List<String> fields = row.fields;
+    int required = Math.max(columns[0], Math.max(columns[1], columns[2]));
+    if (fields.size() <= required) {
+      row.error = "Expected at least " + (required + 1) + " columns, found " + fields.size();
+      return;
+    }
+    String firstName = fields.get(columns[0]).trim();
+    String lastName = fields.get(columns[1]).trim();
+    String email = fields.get(columns[2]).trim();
+    if (firstName.isEmpty() || lastName.isEmpty() || email.isEmpty()) {
+      row.error = "first_name, last_name and email are required";
+    } else if (firstName.length() > MAX_LENGTH
+        || lastName.length() > MAX_LENGTH
+        || email.length() > MAX_LENGTH) {
+      row.error = "Values are limited to " + MAX_LENGTH + " characters";
+    } else if (!isEmail(email)) {
+      row.error = "Invalid email :: " + email;
+    } else {
+      row.employee =
+          Employee.builder().firstName(firstName).lastName(lastName).email(email).build();
+    }
+  }
+
+  // one @ with something on both sides and a dot in the domain; full RFC 5322 is not worth the cost
+  private static boolean isEmail(String email) {
+    int at = email.indexOf('@');
+    return at > 0
+        && at == email.lastIndexOf('@')
+        && email.indexOf('.', at + 2) > 0
+        && !email.endsWith(".")
+        && email.chars().noneMatch(Character::isWhitespace);
+  }
+
+  private static int column(List<String> header, String name) {
+    for (int i = 0; i < header.size(); i++) {
+      if (header.get(i).trim().equalsIgnoreCase(name)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("Missing column in employee file header :: " + name);
+  }
+
+  // the unique index compares emails case-insensitively under MySQL's default collation
+  private static String normalize(String email) {
+    return email.toLowerCase(Locale.ROOT);
+  }
+
+  private static final class Row {
+
+    private final int line;
+    private final List<String> fields;
+    private Employee employee;
+    private String error;
+
+    private Row(int line, List<String> fields) {
+      this.line = line;
+      this.fields = fields;
+    }
+  }
+
+  private static final class ImportRun {
+
+    private final long start = System.nanoTime();
+    // lower-cased emails seen so far in the file
+    private final Set<String> emails = new HashSet<>();
+    private final List<EmployeeImportReport.RowError> errors = new ArrayList<>();
+    private long rowsRead;
+    private long rowsImported;
+  }
+}
@@ -0,0 +1,145 @@
+package com.ritesh.testing.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads a UTF-8 CSV file through memory-mapped windows of the file, so the bytes go from the page
+ * cache to the parser without a copy through a read buffer and without ever holding more than one
+ * window and one line on the heap. Fields follow RFC 4180 quoting, except that a quoted field may
+ * not contain a line break.
+ */
+final class EmployeeCsvReader implements Closeable {
+
+  // a mapping stays well below the 2 GB limit of a MappedByteBuffer
+  static final long DEFAULT_WINDOW_SIZE = 64L << 20;
+
+  // EF BB BF, which Excel and Notepad put in front of UTF-8 files
+  private static final byte[] BYTE_ORDER_MARK = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+  private final FileChannel channel;
+  private final long size;
+  private final long windowSize;
+  private MappedByteBuffer window;
+  private long windowEnd;
+  private byte[] line = new byte[256];
+  private int lineNumber;
+
+  EmployeeCsvReader(Path file) throws IOException {
+    this(file, DEFAULT_WINDOW_SIZE);
+  }
+
+  EmployeeCsvReader(Path file, long windowSize) throws IOException {
+    this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    this.size = channel.size();
+    this.windowSize = windowSize;
+  }
+
+  // line number of the record last returned by next(), starting at 1
+  int lineNumber() {
+    return lineNumber;
+  }
+
+  // the fields of the next non-empty line, or null at the end of the file
+  List<String> next() throws IOException {
+    while (true) {
+      int length = readLine();
+      if (length < 0) {
+        return null;
+      }
+      lineNumber++;
+      if (length > 0 && line[length - 1] == '\r') {
+        length--;
+      }
+      if (length > 0) {
+        return parse(new String(line, 0, length, StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  // copies the next line into the line buffer and returns its length, -1 at the end of the file
+  private int readLine() throws IOException {
+    int length = 0;
+    boolean read = false;
+    while (true) {
+      if (window == null || !window.hasRemaining()) {
+        if (windowEnd >= size) {
+          return read ? length : -1;
+        }
+        long windowStart = windowEnd;
+        // the first window holds at least the byte order mark, so it can be skipped in one place
+        long mapped = windowStart == 0 ? Math.max(windowSize, BYTE_ORDER_MARK.length) : windowSize;
+        windowEnd = Math.min(size, windowStart + mapped);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowEnd - windowStart);
+        if (windowStart == 0) {
+          skipByteOrderMark();
+        }
+      }
+      read = true;
+      while (window.hasRemaining()) {
+        byte b = window.get();
+        if (b == '\n') {
+          return length;
+        }
+        if (length == line.length) {
+          line = Arrays.copyOf(line, length * 2);
+        }
+        line[length++] = b;
+      }
+    }
+  }
+
+  // a mark left in place would become part of the first header name
+  private void skipByteOrderMark() {
+    if (window.remaining() < BYTE_ORDER_MARK.length) {
+      return;
+    }
+    for (int i = 0; i < BYTE_ORDER_MARK.length; i++) {
+      if (window.get(i) != BYTE_ORDER_MARK[i]) {
+        return;
+      }
+    }
+    window.position(BYTE_ORDER_MARK.length);
+  }
+
+  static List<String> parse(String record) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < record.length(); i++) {
+      char c = record.charAt(i);
+      if (quoted) {
+        if (c != '"') {
+          field.append(c);
+        } else if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else {
+          quoted = false;
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+}
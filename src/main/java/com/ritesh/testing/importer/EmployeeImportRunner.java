@@ -0,0 +1,47 @@
+package com.ritesh.testing.importer;
+
+import com.ritesh.testing.model.EmployeeImportReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+// imports the files passed as --import-employees=<path>, for example alongside
+// --spring.main.web-application-type=none for a one-off load
+@Component
+public class EmployeeImportRunner implements ApplicationRunner {
+
+  static final String OPTION = "import-employees";
+
+  private static final Logger log = LoggerFactory.getLogger(EmployeeImportRunner.class);
+
+  private final EmployeeCsvImporter employeeCsvImporter;
+
+  public EmployeeImportRunner(EmployeeCsvImporter employeeCsvImporter) {
+    this.employeeCsvImporter = employeeCsvImporter;
+  }
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    if (!args.containsOption(OPTION)) {
+      return;
+    }
+    for (String file : args.getOptionValues(OPTION)) {
+      EmployeeImportReport report = employeeCsvImporter.importFile(Path.of(file));
+      log.info(
+          "Imported {} of {} employees from {} in {} ms ({} rows/s), {} rejected",
+          report.getRowsImported(),
+          report.getRowsRead(),
+          file,
+          report.getDurationMillis(),
+          Math.round(report.getRowsPerSecond()),
+          report.getRowsRejected());
+      report
+          .getErrors()
+          .forEach(error -> log.warn("{} line {}: {}", file, error.getLine(), error.getMessage()));
+    }
+  }
+}
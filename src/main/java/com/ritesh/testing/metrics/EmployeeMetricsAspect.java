@@ -0,0 +1,123 @@
+package com.ritesh.testing.metrics;
+
+import com.ritesh.testing.repository.EmployeeRepository;
+import com.ritesh.testing.service.EmployeeService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Times every EmployeeService and EmployeeRepository call, tagged by operation and outcome.
+// Meters, error counters included, are resolved once per method and cached, so the steady-state
+// cost is two nanoTime calls and a histogram update. Overloads are told apart by their parameter
+// types. Ordered first so service timings include the transaction commit.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EmployeeMetricsAspect {
+
+  public static final String SERVICE_TIMER = "employee.service";
+  public static final String REPOSITORY_TIMER = "employee.repository";
+
+  private final MeterRegistry meterRegistry;
+  private final ConcurrentMap<Method, OperationMeters> serviceMeters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Method, OperationMeters> repositoryMeters = new ConcurrentHashMap<>();
+
+  public EmployeeMetricsAspect(MeterRegistry meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Around("execution(* com.ritesh.testing.service.EmployeeService.*(..))")
+  public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+    return record(joinPoint, SERVICE_TIMER, EmployeeService.class, serviceMeters);
+  }
+
+  @Around(
+      "this(com.ritesh.testing.repository.EmployeeRepository)"
+          + " && execution(* org.springframework.data.repository.Repository+.*(..))")
+  public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+    return record(joinPoint, REPOSITORY_TIMER, EmployeeRepository.class, repositoryMeters);
+  }
+
+  private Object record(
+      ProceedingJoinPoint joinPoint,
+      String name,
+      Class<?> type,
+      ConcurrentMap<Method, OperationMeters> meters)
+      throws Throwable {
+    Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+    OperationMeters operationMeters =
+        meters.computeIfAbsent(
+            method, m -> new OperationMeters(meterRegistry, name, operation(type, m)));
+    long start = System.nanoTime();
+    try {
+      Object result = joinPoint.proceed();
+      operationMeters.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return result;
+    } catch (Throwable e) {
+      operationMeters.error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      operationMeters.errorCounter(meterRegistry, e.getClass()).increment();
+      throw e;
+    }
+  }
+
+  // the method name, with its parameter types when the interface overloads it
+  private static String operation(Class<?> type, Method method) {
+    long overloads =
+        Arrays.stream(type.getMethods()).filter(m -> m.getName().equals(method.getName())).count();
+    if (overloads <= 1) {
+      return method.getName();
+    }
+    return Arrays.stream(method.getParameterTypes())
+        .map(Class::getSimpleName)
+        .collect(Collectors.joining(",", method.getName() + "(", ")"));
+  }
+
+  private static final class OperationMeters {
+
+    private final String name;
+    private final String operation;
+    private final Timer success;
+    private final Timer error;
+    private final ConcurrentMap<Class<?>, Counter> errors = new ConcurrentHashMap<>();
+
+    private OperationMeters(MeterRegistry meterRegistry, String name, String operation) {
+      this.name = name;
+      this.operation = operation;
+      this.success = timer(meterRegistry, name, operation, "success");
+      this.error = timer(meterRegistry, name, operation, "error");
+    }
+
+    private Counter errorCounter(MeterRegistry meterRegistry, Class<?> exception) {
+      return errors.computeIfAbsent(
+          exception,
+          e ->
+              Counter.builder(name + ".errors")
+                  .tag("operation", operation)
+                  .tag("exception", e.getSimpleName())
+                  .register(meterRegistry));
+    }
+
+    private static Timer timer(
+        MeterRegistry meterRegistry, String name, String operation, String outcome) {
+      return Timer.builder(name)
+          .tag("operation", operation)
+          .tag("outcome", outcome)
+          .publishPercentileHistogram()
+          .register(meterRegistry);
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package com.ritesh.testing.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@ToString
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class CursorPage<T> {
+
+    List<T> content;
+
+    // id to pass as "after" for the next page, null once the last page has been returned
+    Integer nextCursor;
+}
@@ -2,8 +2,12 @@ package com.ritesh.testing.model;
 
 import lombok.*;
 import lombok.experimental.FieldDefaults;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import javax.persistence.*;
+import java.time.Instant;
 
 @ToString
 @Getter
@@ -13,19 +17,41 @@ import javax.persistence.*;
 @Builder
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
-@Table(name = "employee")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@Table(
+    name = "employee",
+    uniqueConstraints =
+        @UniqueConstraint(name = Employee.EMAIL_CONSTRAINT, columnNames = "email"),
+    indexes = {
+        @Index(name = "idx_employee_first_name_last_name", columnList = "first_name, last_name"),
+        @Index(name = "idx_employee_last_name", columnList = "last_name"),
+        @Index(name = "idx_employee_updated_at", columnList = "updated_at, id")
+    })
 public class Employee {
 
+    public static final String EMAIL_CONSTRAINT = "uk_employee_email";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     Integer id;
 
-    @Column(nullable = false)
+    @Column(name = "first_name", nullable = false)
     String firstName;
 
-    @Column(nullable = false)
+    @Column(name = "last_name", nullable = false)
     String lastName;
 
     @Column(nullable = false)
     String email;
+
+    @Version
+    @Column(nullable = false)
+    Integer version;
+
+    // set on every insert and update; the watermark of GET /api/employee/changes
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    Instant updatedAt;
 }
@@ -0,0 +1,24 @@
+package com.ritesh.testing.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@ToString
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EmployeeBatch {
+
+    // the employees found, in the order their ids were requested, each once
+    List<Employee> employees;
+
+    // requested ids with no employee, in request order
+    List<Integer> missing;
+}
@@ -0,0 +1,55 @@
+package com.ritesh.testing.model;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+// one row of the transactional outbox: written in the same transaction as the employee change, so
+// the feed never reports a change that was rolled back nor misses one that committed
+@ToString
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(
+    name = "employee_outbox",
+    indexes = @Index(name = "idx_employee_outbox_created_at", columnList = "created_at"))
+public class EmployeeChange {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    // the feed offset: auto-increment ids grow in insert order
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    Long id;
+
+    @Column(name = "employee_id", nullable = false)
+    Integer employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    Type type;
+
+    // the employee state after the change; empty for deletes
+    @Column(name = "first_name")
+    String firstName;
+
+    @Column(name = "last_name")
+    String lastName;
+
+    String email;
+
+    Integer version;
+
+    @Column(name = "created_at", nullable = false)
+    Instant createdAt;
+}
@@ -0,0 +1,30 @@
+package com.ritesh.testing.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@ToString
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EmployeeDelta {
+
+    // employees created or updated since the watermark, in their current state
+    List<Employee> changed;
+
+    // ids of employees deleted since the watermark
+    List<Integer> deleted;
+
+    // to pass as "since" on the next call
+    String watermark;
+
+    // more changes are waiting beyond this page: call again right away with the new watermark
+    boolean hasMore;
+}
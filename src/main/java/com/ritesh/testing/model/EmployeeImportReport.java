@@ -0,0 +1,44 @@
+package com.ritesh.testing.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.FieldDefaults;
+
+import java.util.List;
+
+@ToString
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EmployeeImportReport {
+
+    long rowsRead;
+
+    long rowsImported;
+
+    long rowsRejected;
+
+    // the first rejected rows, up to app.import.max-reported-errors
+    List<RowError> errors;
+
+    long durationMillis;
+
+    double rowsPerSecond;
+
+    @ToString
+    @Getter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @FieldDefaults(level = AccessLevel.PRIVATE)
+    public static class RowError {
+
+        // line in the file, the header being line 1
+        int line;
+
+        String message;
+    }
+}
@@ -0,0 +1,23 @@
+package com.ritesh.testing.model;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+// search filters; a trailing '*' on firstName, lastName or email asks for a prefix match
+@ToString
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EmployeeSearch {
+
+    String firstName;
+
+    String lastName;
+
+    String email;
+
+    String emailDomain;
+}
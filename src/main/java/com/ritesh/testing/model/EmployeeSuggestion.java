@@ -0,0 +1,21 @@
+package com.ritesh.testing.model;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@ToString
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class EmployeeSuggestion {
+
+    Integer id;
+
+    String firstName;
+
+    String lastName;
+
+    String email;
+}
@@ -0,0 +1,31 @@
+package com.ritesh.testing.model;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+// marks a deleted employee for delta sync; the employee row itself is removed, so its email is free
+// again and no other query has to filter deleted rows out
+@ToString
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Entity
+@Table(
+    name = "employee_tombstone",
+    indexes =
+        @Index(name = "idx_employee_tombstone_deleted_at", columnList = "deleted_at, employee_id"))
+public class EmployeeTombstone {
+
+    @Id
+    @Column(name = "employee_id")
+    Integer employeeId;
+
+    @Column(name = "deleted_at", nullable = false)
+    Instant deletedAt;
+}
@@ -0,0 +1,9 @@
+package com.ritesh.testing.model;
+
+// projection used to validate ETags without loading the full row
+public interface EmployeeVersion {
+
+  Integer getId();
+
+  Integer getVersion();
+}
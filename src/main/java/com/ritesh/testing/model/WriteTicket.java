@@ -0,0 +1,28 @@
+package com.ritesh.testing.model;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+@ToString
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class WriteTicket {
+
+    public enum Status {
+        PENDING,
+        APPLIED,
+        FAILED
+    }
+
+    String token;
+
+    Status status;
+
+    Integer employeeId;
+
+    String message;
+}
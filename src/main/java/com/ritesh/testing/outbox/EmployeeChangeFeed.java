@@ -0,0 +1,284 @@
+package com.ritesh.testing.outbox;
+
+import com.ritesh.testing.datasource.ReplicaRouting;
+import com.ritesh.testing.model.EmployeeChange;
+import com.ritesh.testing.repository.EmployeeChangeRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Publishes the employee outbox to in-process subscribers. A single poller reads the outbox in
+ * batches and keeps the most recent changes in memory, so one query serves every connected
+ * subscriber no matter how many there are. Subscribers resuming from an offset older than that
+ * buffer catch up from the table first, in batches, and then continue from memory. Each subscriber
+ * is written to on its own sender task, so one slow client cannot hold back the others.
+ */
+@Component
+public class EmployeeChangeFeed implements DisposableBean {
+
+  private static final Logger log = LoggerFactory.getLogger(EmployeeChangeFeed.class);
+
+  public interface Listener {
+
+    void onChanges(List<EmployeeChange> changes) throws Exception;
+
+    // called when nothing was delivered for a heartbeat interval
+    void onIdle() throws Exception;
+  }
+
+  public interface Subscription {
+
+    void cancel();
+  }
+
+  private final EmployeeChangeRepository employeeChangeRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final int bufferSize;
+  private final long pollIntervalNanos;
+  private final long gapTimeoutNanos;
+  private final long heartbeatIntervalNanos;
+  private final Duration retention;
+  // published changes by id; holds every published change above bufferFloor
+  private final ConcurrentSkipListMap<Long, EmployeeChange> buffer = new ConcurrentSkipListMap<>();
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final ExecutorService senders =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "employee-change-sender");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private final Thread poller;
+  private volatile long offset;
+  private volatile long bufferFloor;
+  private volatile boolean running = true;
+  // poller thread only
+  private long gapSince;
+  private long lastPurge;
+
+  public EmployeeChangeFeed(
+      EmployeeChangeRepository employeeChangeRepository,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.outbox.batch-size:500}") int batchSize,
+      @Value("${app.outbox.buffer-size:10000}") int bufferSize,
+      @Value("${app.outbox.poll-interval:500ms}") Duration pollInterval,
+      @Value("${app.outbox.gap-timeout:5s}") Duration gapTimeout,
+      @Value("${app.outbox.heartbeat-interval:15s}") Duration heartbeatInterval,
+      @Value("${app.outbox.retention:7d}") Duration retention) {
+    this.employeeChangeRepository = employeeChangeRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.batchSize = batchSize;
+    this.bufferSize = bufferSize;
+    this.pollIntervalNanos = pollInterval.toNanos();
+    this.gapTimeoutNanos = gapTimeout.toNanos();
+    this.heartbeatIntervalNanos = heartbeatInterval.toNanos();
+    this.retention = retention;
+    // new subscribers without an offset start from the changes committed after startup
+    this.offset = ReplicaRouting.onPrimary(employeeChangeRepository::findMaxId);
+    this.bufferFloor = offset;
+    this.lastPurge = System.nanoTime();
+    Gauge.builder("employee.changes.subscribers", subscribers, Set::size)
+        .description("Subscribers connected to the employee change feed")
+        .register(meterRegistry);
+    this.poller = new Thread(this::runPoller, "employee-change-poller");
+    this.poller.setDaemon(true);
+    this.poller.start();
+  }
+
+  /**
+   * Delivers every change with an id above {@code after}, or only changes published from now on
+   * when {@code after} is null.
+   */
+  public Subscription subscribe(Long after, Listener listener) {
+    Subscriber subscriber = new Subscriber(listener, after == null ? offset : after);
+    subscribers.add(subscriber);
+    subscriber.schedule();
+    return subscriber;
+  }
+
+  public long offset() {
+    return offset;
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    running = false;
+    poller.interrupt();
+    poller.join(TimeUnit.SECONDS.toMillis(30));
+    subscribers.forEach(Subscriber::cancel);
+    senders.shutdownNow();
+  }
+
+  private void runPoller() {
+    while (running) {
+      boolean more = false;
+      try {
+        more = poll();
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+          if (subscriber.offset < offset || now - subscriber.lastSent >= heartbeatIntervalNanos) {
+            subscriber.schedule();
+          }
+        }
+        purge(now);
+      } catch (RuntimeException e) {
+        log.error("Employee change feed poll failed", e);
+      }
+      if (!more) {
+        try {
+          TimeUnit.NANOSECONDS.sleep(pollIntervalNanos);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+    }
+  }
+
+  // publishes the next batch and reports whether a full batch was published
+  private boolean poll() {
+    long published = offset;
+    List<EmployeeChange> changes =
+        ReplicaRouting.onPrimary(
+            () ->
+                employeeChangeRepository.findByIdGreaterThanOrderByIdAsc(
+                    published, PageRequest.of(0, batchSize)));
+    long last = published;
+    for (EmployeeChange change : changes) {
+      long id = change.getId();
+      if (id != last + 1) {
+        // auto-increment ids are taken at insert but show up at commit, so a hole may still be
+        // filled by a transaction in flight; it is only skipped once it has stayed open a while
+        if (gapSince == 0) {
+          gapSince = System.nanoTime();
+        }
+        if (System.nanoTime() - gapSince < gapTimeoutNanos) {
+          break;
+        }
+      }
+      gapSince = 0;
+      buffer.put(id, change);
+      last = id;
+    }
+    offset = last;
+    while (buffer.size() > bufferSize) {
+      // readers check the floor after copying from the buffer, so it moves before the entry goes
+      Long first = buffer.firstKey();
+      bufferFloor = first;
+      buffer.remove(first);
+    }
+    return changes.size() == batchSize && last > published;
+  }
+
+  private void purge(long now) {
+    if (now - lastPurge < TimeUnit.HOURS.toNanos(1)) {
+      return;
+    }
+    lastPurge = now;
+    Instant cutoff = Instant.now().minus(retention);
+    Integer purged =
+        transactionTemplate.execute(
+            status -> employeeChangeRepository.deleteByCreatedAtBefore(cutoff));
+    log.info("Purged {} employee changes older than {}", purged, cutoff);
+  }
+
+  // the next batch after the given id, from memory when the buffer still covers it
+  private List<EmployeeChange> next(long after, long upTo) {
+    if (after >= bufferFloor) {
+      List<EmployeeChange> changes = new ArrayList<>();
+      for (Map.Entry<Long, EmployeeChange> entry :
+          buffer.subMap(after, false, upTo, true).entrySet()) {
+        changes.add(entry.getValue());
+        if (changes.size() == batchSize) {
+          break;
+        }
+      }
+      if (after >= bufferFloor) {
+        return changes;
+      }
+    }
+    return ReplicaRouting.onPrimary(
+        () ->
+            employeeChangeRepository.findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+                after, upTo, PageRequest.of(0, batchSize)));
+  }
+
+  private final class Subscriber implements Subscription {
+
+    private final Listener listener;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile long offset;
+    private volatile long lastSent = System.nanoTime();
+    private volatile boolean cancelled;
+
+    private Subscriber(Listener listener, long offset) {
+      this.listener = listener;
+      this.offset = offset;
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      subscribers.remove(this);
+    }
+
+    private void schedule() {
+      if (!cancelled && scheduled.compareAndSet(false, true)) {
+        senders.execute(this::send);
+      }
+    }
+
+    private void send() {
+      try {
+        long upTo;
+        while (!cancelled && offset < (upTo = EmployeeChangeFeed.this.offset)) {
+          List<EmployeeChange> changes = next(offset, upTo);
+          if (changes.isEmpty()) {
+            // everything up to the published offset was purged or never committed
+            offset = upTo;
+            continue;
+          }
+          listener.onChanges(changes);
+          offset = changes.get(changes.size() - 1).getId();
+          lastSent = System.nanoTime();
+        }
+        if (!cancelled && System.nanoTime() - lastSent >= heartbeatIntervalNanos) {
+          listener.onIdle();
+          lastSent = System.nanoTime();
+        }
+      } catch (Exception e) {
+        log.debug("Dropping employee change subscriber", e);
+        cancel();
+      } finally {
+        scheduled.set(false);
+      }
+      // changes published while the last batch was being sent
+      if (!cancelled && offset < EmployeeChangeFeed.this.offset) {
+        schedule();
+      }
+    }
+  }
+}
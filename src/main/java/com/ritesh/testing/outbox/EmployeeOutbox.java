@@ -0,0 +1,69 @@
+package com.ritesh.testing.outbox;
+
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeChange;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Writes employee changes to the {@code employee_outbox} table. Every call has to join the
+ * transaction that makes the change itself, which is what keeps the outbox and the employee table
+ * consistent. Rows go through JDBC batches: the table uses auto-increment ids, for which Hibernate
+ * would insert row by row.
+ */
+@Component
+public class EmployeeOutbox {
+
+  private static final String INSERT =
+      "insert into employee_outbox"
+          + " (employee_id, type, first_name, last_name, email, version, created_at)"
+          + " values (?, ?, ?, ?, ?, ?, ?)";
+
+  // matches spring.jpa.properties.hibernate.jdbc.batch_size
+  private static final int BATCH_SIZE = 50;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public EmployeeOutbox(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void created(List<Employee> employees) {
+    record(EmployeeChange.Type.CREATED, employees);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void updated(Employee employee) {
+    record(EmployeeChange.Type.UPDATED, List.of(employee));
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void deleted(Integer id) {
+    record(EmployeeChange.Type.DELETED, List.of(Employee.builder().id(id).build()));
+  }
+
+  private void record(EmployeeChange.Type type, List<Employee> employees) {
+    Timestamp createdAt = Timestamp.from(Instant.now());
+    jdbcTemplate.batchUpdate(
+        INSERT,
+        employees,
+        BATCH_SIZE,
+        (statement, employee) -> {
+          statement.setInt(1, employee.getId());
+          statement.setString(2, type.name());
+          statement.setString(3, employee.getFirstName());
+          statement.setString(4, employee.getLastName());
+          statement.setString(5, employee.getEmail());
+          statement.setObject(6, employee.getVersion(), Types.INTEGER);
+          statement.setTimestamp(7, createdAt);
+        });
+  }
+}
@@ -0,0 +1,26 @@
+package com.ritesh.testing.repository;
+
+import com.ritesh.testing.model.EmployeeChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EmployeeChangeRepository extends JpaRepository<EmployeeChange, Long> {
+
+  List<EmployeeChange> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+  List<EmployeeChange> findByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(
+      Long after, Long upTo, Pageable pageable);
+
+  @Query("select coalesce(max(id), 0) from EmployeeChange")
+  long findMaxId();
+
+  @Modifying
+  @Query("delete from EmployeeChange where createdAt < :cutoff")
+  int deleteByCreatedAtBefore(@Param("cutoff") Instant cutoff);
+}
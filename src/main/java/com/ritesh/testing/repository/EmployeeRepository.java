@@ -1,28 +1,82 @@
 package com.ritesh.testing.repository;
 
 import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeVersion;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface EmployeeRepository
-    extends JpaRepository<Employee, Integer>, JpaSpecificationExecutor<Employee> {
+    extends JpaRepository<Employee, Integer>,
+        JpaSpecificationExecutor<Employee>,
+        EmployeeRepositoryCustom {
 
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   Optional<Employee> findByEmail(String email);
 
+  @Query("select email from Employee where email in :emails")
+  List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+  List<Employee> findByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+  List<EmployeeVersion> findVersionsByIdGreaterThanOrderByIdAsc(Integer id, Pageable pageable);
+
+  // select ... for update: an unconditional write cannot lose a race to a concurrent one
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query("from Employee where id=:id")
+  Optional<Employee> findForUpdateById(@Param("id") Integer id);
+
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HINT_READONLY, value = "true"),
+    @QueryHint(name = HINT_CACHE_MODE, value = "IGNORE")
+  })
+  @Query("from Employee order by id")
+  Stream<Employee> streamAll();
+
+  // keyset over (updatedAt, id): the first condition gives the index a range, the second skips the
+  // rows of the watermark's own timestamp that were already returned
+  @Query(
+      "from Employee where updatedAt >= :since and (updatedAt > :since or id > :id)"
+          + " and updatedAt <= :until order by updatedAt, id")
+  List<Employee> findChangedSince(
+      @Param("since") Instant since,
+      @Param("id") Integer id,
+      @Param("until") Instant until,
+      Pageable pageable);
+
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   @Query("from Employee where firstName=?1 and lastName=?2")
   Employee findByFirstNameAndLastName(String firstName, String lastName);
 
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   @Query("from Employee where firstName=:firstName and lastName=:lastName")
   Employee findByCustomQueryWithNamedParams(
       @Param("firstName") String firstName, @Param("lastName") String lastName);
 
+  // native results map to Employee, so Hibernate ties them to the employee table's update timestamps
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   @Query(value = "select * from employee where first_name=?1 and last_name=?2", nativeQuery = true)
   Employee findByFirstNameAndLastNameWithNativeQuery(String firstName, String lastName);
 
+  @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
   @Query(
       value = "select * from employee where first_name=:firstName and last_name=:lastName",
       nativeQuery = true)
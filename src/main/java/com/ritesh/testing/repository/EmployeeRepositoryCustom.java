@@ -0,0 +1,28 @@
+package com.ritesh.testing.repository;
+
+import com.ritesh.testing.exception.BadRequestException;
+import com.ritesh.testing.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Criteria queries that cannot be derived. Column projections over {@code Employee} are returned
+ * as field name to value maps built from tuple queries, so only the requested columns are selected
+ * and no entities are managed. Unknown field names are rejected with a {@link BadRequestException}.
+ */
+public interface EmployeeRepositoryCustom {
+
+  List<Map<String, Object>> findFieldsByIdGreaterThan(Integer id, Set<String> fields, int limit);
+
+  Optional<Map<String, Object>> findFieldsById(Integer id, Set<String> fields);
+
+  Stream<Map<String, Object>> streamFields(Set<String> fields);
+
+  // first rows in id order, without the count query a Page would trigger
+  List<Employee> search(Specification<Employee> specification, int limit);
+}
@@ -0,0 +1,118 @@
+package com.ritesh.testing.repository;
+
+import com.ritesh.testing.exception.BadRequestException;
+import com.ritesh.testing.model.Employee;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import javax.persistence.criteria.Selection;
+import javax.persistence.metamodel.Attribute;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+
+class EmployeeRepositoryImpl implements EmployeeRepositoryCustom {
+
+  private static final String ID = "id";
+
+  private final EntityManager entityManager;
+
+  EmployeeRepositoryImpl(EntityManager entityManager) {
+    this.entityManager = entityManager;
+  }
+
+  @Override
+  public List<Map<String, Object>> findFieldsByIdGreaterThan(
+      Integer id, Set<String> fields, int limit) {
+    return query(fields, (root, query, cb) -> cb.greaterThan(root.get(ID), id))
+        .setMaxResults(limit)
+        .getResultStream()
+        .map(EmployeeRepositoryImpl::toMap)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public Optional<Map<String, Object>> findFieldsById(Integer id, Set<String> fields) {
+    return query(fields, (root, query, cb) -> cb.equal(root.get(ID), id))
+        .getResultStream()
+        .findFirst()
+        .map(EmployeeRepositoryImpl::toMap);
+  }
+
+  @Override
+  public Stream<Map<String, Object>> streamFields(Set<String> fields) {
+    return query(fields, null)
+        .setHint(HINT_FETCH_SIZE, 500)
+        .getResultStream()
+        .map(EmployeeRepositoryImpl::toMap);
+  }
+
+  @Override
+  public List<Employee> search(Specification<Employee> specification, int limit) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Employee> query = cb.createQuery(Employee.class);
+    Root<Employee> root = query.from(Employee.class);
+    query
+        .select(root)
+        .where(specification.toPredicate(root, query, cb))
+        .orderBy(cb.asc(root.get(ID)));
+    return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+  }
+
+  private TypedQuery<Tuple> query(Set<String> fields, Specification<Employee> restriction) {
+    CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+    CriteriaQuery<Tuple> query = cb.createTupleQuery();
+    Root<Employee> root = query.from(Employee.class);
+    List<Selection<?>> selections = new ArrayList<>();
+    for (String field : columns(fields)) {
+      selections.add(root.get(field).alias(field));
+    }
+    query.multiselect(selections).orderBy(cb.asc(root.get(ID)));
+    if (restriction != null) {
+      query.where(restriction.toPredicate(root, query, cb));
+    }
+    return entityManager.createQuery(query);
+  }
+
+  private Set<String> columns(Set<String> fields) {
+    // the id is always selected: it is the paging cursor and identifies the row
+    Set<String> columns = new LinkedHashSet<>();
+    columns.add(ID);
+    for (String field : fields) {
+      field = field.trim();
+      Attribute<?, ?> attribute = attribute(field);
+      if (attribute.isAssociation() || attribute.isCollection()) {
+        throw new BadRequestException("Unknown employee field :: " + field);
+      }
+      columns.add(field);
+    }
+    return columns;
+  }
+
+  private Attribute<?, ?> attribute(String field) {
+    try {
+      return entityManager.getMetamodel().entity(Employee.class).getAttribute(field);
+    } catch (IllegalArgumentException e) {
+      throw new BadRequestException("Unknown employee field :: " + field, e);
+    }
+  }
+
+  private static Map<String, Object> toMap(Tuple tuple) {
+    Map<String, Object> row = new LinkedHashMap<>();
+    tuple.getElements().forEach(element -> row.put(element.getAlias(), tuple.get(element)));
+    return row;
+  }
+}
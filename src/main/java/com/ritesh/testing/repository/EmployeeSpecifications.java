@@ -0,0 +1,70 @@
+package com.ritesh.testing.repository;
+
+import com.ritesh.testing.exception.BadRequestException;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeSearch;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Builds search {@link Specification}s that stay on indexed columns. Every search needs an
+ * equality or prefix filter on first name, last name or email; the email domain is a suffix match
+ * that no index can serve, so it is only applied on top of one of those. Invalid searches are
+ * rejected with a {@link BadRequestException}.
+ */
+public final class EmployeeSpecifications {
+
+  public static final int MIN_PREFIX_LENGTH = 2;
+
+  private static final String PREFIX_WILDCARD = "*";
+  private static final char ESCAPE = '!';
+
+  private EmployeeSpecifications() {}
+
+  public static Specification<Employee> matching(EmployeeSearch search) {
+    Specification<Employee> specification = null;
+    specification = and(specification, filter("firstName", search.getFirstName()));
+    specification = and(specification, filter("lastName", search.getLastName()));
+    specification = and(specification, filter("email", search.getEmail()));
+    if (specification == null) {
+      throw new BadRequestException("Search needs a firstName, lastName or email filter");
+    }
+    if (search.getEmailDomain() != null) {
+      String suffix = "@" + escape(search.getEmailDomain().trim());
+      specification =
+          specification.and((root, query, cb) -> cb.like(root.get("email"), "%" + suffix, ESCAPE));
+    }
+    return specification;
+  }
+
+  public static Specification<Employee> idGreaterThan(Integer id) {
+    return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+  }
+
+  private static Specification<Employee> filter(String attribute, String value) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    if (!value.endsWith(PREFIX_WILDCARD)) {
+      return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+    String prefix = value.substring(0, value.length() - 1);
+    if (prefix.length() < MIN_PREFIX_LENGTH || prefix.contains(PREFIX_WILDCARD)) {
+      throw new BadRequestException(
+          attribute + " prefix needs at least " + MIN_PREFIX_LENGTH + " characters before '*'");
+    }
+    String pattern = escape(prefix) + "%";
+    return (root, query, cb) -> cb.like(root.get(attribute), pattern, ESCAPE);
+  }
+
+  private static Specification<Employee> and(
+      Specification<Employee> specification, Specification<Employee> other) {
+    if (other == null) {
+      return specification;
+    }
+    return specification == null ? Specification.where(other) : specification.and(other);
+  }
+
+  private static String escape(String value) {
+    return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+  }
+}
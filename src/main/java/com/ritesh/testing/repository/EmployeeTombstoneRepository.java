@@ -0,0 +1,24 @@
+package com.ritesh.testing.repository;
+
+import com.ritesh.testing.model.EmployeeTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface EmployeeTombstoneRepository extends JpaRepository<EmployeeTombstone, Integer> {
+
+  // same keyset as EmployeeRepository.findChangedSince, over (deletedAt, employeeId)
+  @Query(
+      "from EmployeeTombstone where deletedAt >= :since"
+          + " and (deletedAt > :since or employeeId > :id)"
+          + " and deletedAt <= :until order by deletedAt, employeeId")
+  List<EmployeeTombstone> findDeletedSince(
+      @Param("since") Instant since,
+      @Param("id") Integer id,
+      @Param("until") Instant until,
+      Pageable pageable);
+}
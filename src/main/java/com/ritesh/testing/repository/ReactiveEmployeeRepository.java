@@ -0,0 +1,276 @@
+package com.ritesh.testing.repository;
+
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeChange;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Repository
+public class ReactiveEmployeeRepository {
+
+  private static final String COLUMNS = "id, first_name, last_name, email, version, updated_at";
+
+  private static final String INSERT_CHANGE =
+      "insert into employee_outbox"
+          + " (employee_id, type, first_name, last_name, email, version, created_at)"
+          + " values (:employeeId, :type, :firstName, :lastName, :email, :version, :createdAt)";
+
+  // must match the allocationSize of Employee's employee_seq generator
+  private static final int ID_ALLOCATION_SIZE = 50;
+
+  private final DatabaseClient databaseClient;
+  private final TransactionalOperator transactionalOperator;
+  private final Mono<Boolean> nativeSequences;
+  // the rest of the current id block, nextId to maxId inclusive
+  private long nextId = 1;
+  private long maxId;
+
+  public ReactiveEmployeeRepository(
+      DatabaseClient databaseClient, TransactionalOperator transactionalOperator) {
+    this.databaseClient = databaseClient;
+    this.transactionalOperator = transactionalOperator;
+    // Hibernate emulates employee_seq with a table on MySQL and uses a real sequence elsewhere
+    this.nativeSequences =
+        Mono.usingWhen(
+                Mono.from(databaseClient.getConnectionFactory().create()),
+                connection ->
+                    Mono.just(!"MySQL".equals(connection.getMetadata().getDatabaseProductName())),
+                Connection::close)
+            .cache();
+  }
+
+  public Flux<Employee> findAll() {
+    return databaseClient
+        .sql("select " + COLUMNS + " from employee order by id")
+        .map(ReactiveEmployeeRepository::toEmployee)
+        .all();
+  }
+
+  public Flux<Employee> findPage(Integer after, int limit) {
+    return databaseClient
+        .sql("select " + COLUMNS + " from employee where id > :after order by id limit :limit")
+        .bind("after", after)
+        .bind("limit", limit)
+        .map(ReactiveEmployeeRepository::toEmployee)
+        .all();
+  }
+
+  public Mono<Employee> findById(Integer id) {
+    return databaseClient
+        .sql("select " + COLUMNS + " from employee where id = :id")
+        .bind("id", id)
+        .map(ReactiveEmployeeRepository::toEmployee)
+        .one();
+  }
+
+  public Mono<Boolean> existsById(Integer id) {
+    return databaseClient
+        .sql("select 1 from employee where id = :id")
+        .bind("id", id)
+        .map(row -> true)
+        .first()
+        .defaultIfEmpty(false);
+  }
+
+  public Mono<Employee> insert(Employee employee) {
+    Instant now = Instant.now();
+    // the id is taken outside the insert's transaction: a rolled back insert must not give a
+    // block back to the sequence while this instance still hands out ids from it
+    return nextId()
+        .map(
+            id ->
+                Employee.builder()
+                    .id(id)
+                    .firstName(employee.getFirstName())
+                    .lastName(employee.getLastName())
+                    .email(employee.getEmail())
+                    .version(0)
+                    .updatedAt(now)
+                    .build())
+        .flatMap(
+            savedEmployee ->
+                databaseClient
+                    .sql(
+                        "insert into employee (" + COLUMNS + ")"
+                            + " values (:id, :firstName, :lastName, :email, 0, :updatedAt)")
+                    .bind("id", savedEmployee.getId())
+                    .bind("firstName", savedEmployee.getFirstName())
+                    .bind("lastName", savedEmployee.getLastName())
+                    .bind("email", savedEmployee.getEmail())
+                    .bind("updatedAt", timestamp(now))
+                    .fetch()
+                    .rowsUpdated()
+                    .then(recordChange(EmployeeChange.Type.CREATED, savedEmployee))
+                    .thenReturn(savedEmployee)
+                    .as(transactionalOperator::transactional));
+  }
+
+  // empty when no row matched: the id is missing or, for a conditional update, the version is stale
+  public Mono<Employee> update(Employee employee) {
+    Instant now = Instant.now();
+    String sql =
+        "update employee set first_name = :firstName, last_name = :lastName, email = :email,"
+            + " version = version + 1, updated_at = :updatedAt where id = :id";
+    DatabaseClient.GenericExecuteSpec spec =
+        databaseClient
+            .sql(employee.getVersion() == null ? sql : sql + " and version = :version")
+            .bind("id", employee.getId())
+            .bind("firstName", employee.getFirstName())
+            .bind("lastName", employee.getLastName())
+            .bind("email", employee.getEmail())
+            .bind("updatedAt", timestamp(now));
+    if (employee.getVersion() != null) {
+      spec = spec.bind("version", employee.getVersion());
+    }
+    return spec.fetch()
+        .rowsUpdated()
+        .filter(updatedRows -> updatedRows > 0)
+        // the update holds the row lock until commit, so this reads the version it wrote
+        .flatMap(updatedRows -> findVersion(employee.getId()))
+        .map(
+            version ->
+                Employee.builder()
+                    .id(employee.getId())
+                    .firstName(employee.getFirstName())
+                    .lastName(employee.getLastName())
+                    .email(employee.getEmail())
+                    .version(version)
+                    .updatedAt(now)
+                    .build())
+        .flatMap(
+            updatedEmployee ->
+                recordChange(EmployeeChange.Type.UPDATED, updatedEmployee)
+                    .thenReturn(updatedEmployee))
+        .as(transactionalOperator::transactional);
+  }
+
+  // leaves a tombstone for delta sync and a change for the feed, like EmployeeServiceImpl does
+  public Mono<Integer> deleteById(Integer id) {
+    return databaseClient
+        .sql("delete from employee where id = :id")
+        .bind("id", id)
+        .fetch()
+        .rowsUpdated()
+        .flatMap(
+            deletedRows ->
+                deletedRows == 0
+                    ? Mono.just(deletedRows)
+                    : databaseClient
+                        .sql(
+                            "insert into employee_tombstone (employee_id, deleted_at)"
+                                + " values (:id, :deletedAt)")
+                        .bind("id", id)
+                        .bind("deletedAt", timestamp(Instant.now()))
+                        .fetch()
+                        .rowsUpdated()
+                        .then(
+                            recordChange(
+                                EmployeeChange.Type.DELETED, Employee.builder().id(id).build()))
+                        .thenReturn(deletedRows))
+        .as(transactionalOperator::transactional);
+  }
+
+  private Mono<Integer> findVersion(Integer id) {
+    return databaseClient
+        .sql("select version from employee where id = :id")
+        .bind("id", id)
+        .map(row -> row.get("version", Integer.class))
+        .one();
+  }
+
+  // the employee_outbox row EmployeeOutbox writes on the JPA side; callers run it inside the
+  // transaction of the change itself, so the feed never sees a change that rolled back
+  private Mono<Integer> recordChange(EmployeeChange.Type type, Employee employee) {
+    DatabaseClient.GenericExecuteSpec spec =
+        databaseClient
+            .sql(INSERT_CHANGE)
+            .bind("employeeId", employee.getId())
+            .bind("type", type.name())
+            .bind("createdAt", timestamp(Instant.now()));
+    spec = bindNullable(spec, "firstName", employee.getFirstName(), String.class);
+    spec = bindNullable(spec, "lastName", employee.getLastName(), String.class);
+    spec = bindNullable(spec, "email", employee.getEmail(), String.class);
+    spec = bindNullable(spec, "version", employee.getVersion(), Integer.class);
+    return spec.fetch().rowsUpdated();
+  }
+
+  private static DatabaseClient.GenericExecuteSpec bindNullable(
+      DatabaseClient.GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+    return value == null ? spec.bindNull(name, type) : spec.bind(name, value);
+  }
+
+  // Takes ids the way Hibernate's pooled optimizer does: each value read from employee_seq is the
+  // top of a block of ID_ALLOCATION_SIZE ids, the rest of which is handed out from memory. Blocks
+  // Hibernate reserves for the JPA side can therefore never overlap these.
+  private Mono<Integer> nextId() {
+    return Mono.defer(
+        () -> {
+          Integer id = takeId();
+          return id != null ? Mono.just(id) : nextBlock().map(this::startBlock);
+        });
+  }
+
+  private synchronized Integer takeId() {
+    return nextId <= maxId ? (int) nextId++ : null;
+  }
+
+  // a caller that reserved a block uses its first id; the rest replaces what is left of the
+  // current block, which loses a few ids only when two callers reserve at the same time
+  private synchronized int startBlock(long hi) {
+    // the sequence starts at 1, so the first block has no ids below it
+    long first = Math.max(1, hi - ID_ALLOCATION_SIZE + 1);
+    nextId = first + 1;
+    maxId = hi;
+    return (int) first;
+  }
+
+  private Mono<Long> nextBlock() {
+    return nativeSequences.flatMap(
+        nativeSequence ->
+            nativeSequence
+                ? databaseClient
+                    .sql("select next value for employee_seq")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                : databaseClient
+                    .sql("select next_val from employee_seq for update")
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    .flatMap(
+                        current ->
+                            databaseClient
+                                .sql("update employee_seq set next_val = :next where next_val = :current")
+                                .bind("next", current + ID_ALLOCATION_SIZE)
+                                .bind("current", current)
+                                .fetch()
+                                .rowsUpdated()
+                                .thenReturn(current))
+                    .as(transactionalOperator::transactional));
+  }
+
+  // Hibernate stores Instant columns as local date-times in the JVM time zone; so does this class
+  private static LocalDateTime timestamp(Instant instant) {
+    return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+  }
+
+  private static Employee toEmployee(Row row) {
+    return Employee.builder()
+        .id(row.get("id", Integer.class))
+        .firstName(row.get("first_name", String.class))
+        .lastName(row.get("last_name", String.class))
+        .email(row.get("email", String.class))
+        .version(row.get("version", Integer.class))
+        .updatedAt(
+            row.get("updated_at", LocalDateTime.class).atZone(ZoneId.systemDefault()).toInstant())
+        .build();
+  }
+}
@@ -1,18 +1,63 @@
 package com.ritesh.testing.service;
 
+import com.ritesh.testing.model.CursorPage;
 import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeBatch;
+import com.ritesh.testing.model.EmployeeDelta;
+import com.ritesh.testing.model.EmployeeSearch;
+import com.ritesh.testing.model.EmployeeVersion;
+import com.ritesh.testing.model.SearchPage;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface EmployeeService {
 
+  int DEFAULT_PAGE_SIZE = 50;
+
+  int MAX_PAGE_SIZE = 500;
+
+  int MAX_BATCH_IDS = 500;
+
   Employee saveEmployee(Employee employee);
 
+  List<Employee> saveEmployees(List<Employee> employees);
+
   List<Employee> getAllEmployees();
 
+  CursorPage<Employee> getEmployees(Integer after, Integer limit);
+
+  CursorPage<Map<String, Object>> getEmployees(Integer after, Integer limit, Set<String> fields);
+
+  CursorPage<EmployeeVersion> getEmployeeVersions(Integer after, Integer limit);
+
+  SearchPage<Employee> searchEmployees(
+      EmployeeSearch search, Integer after, Integer limit, boolean count);
+
+  void exportEmployees(Consumer<Employee> consumer);
+
+  EmployeeDelta getChanges(String since, Integer limit);
+
+  void exportEmployees(Set<String> fields, Consumer<Map<String, Object>> consumer);
+
   Employee findEmployeeById(Integer id);
 
+  // lookups for ids that may not exist: an empty result costs no exception
+  Optional<Employee> findEmployee(Integer id);
+
+  Optional<Map<String, Object>> findEmployee(Integer id, Set<String> fields);
+
+  Optional<Employee> findEmployeeByEmail(String email);
+
+  // one lookup for many ids; ids without an employee are reported instead of failing the call
+  EmployeeBatch findEmployees(List<Integer> ids);
+
   Employee updateEmployee(Employee employee);
 
   void deleteEmployee(Integer id);
+
+  void deleteEmployee(Integer id, Integer version);
 }
@@ -0,0 +1,17 @@
+package com.ritesh.testing.service;
+
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.WriteTicket;
+
+import java.util.Optional;
+
+public interface EmployeeWriteBehindService {
+
+  WriteTicket submitCreate(Employee employee);
+
+  WriteTicket submitUpdate(Employee employee);
+
+  Optional<WriteTicket> findTicket(String token);
+
+  void flush();
+}
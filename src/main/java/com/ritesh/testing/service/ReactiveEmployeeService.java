@@ -0,0 +1,24 @@
+package com.ritesh.testing.service;
+
+import com.ritesh.testing.model.CursorPage;
+import com.ritesh.testing.model.Employee;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveEmployeeService {
+
+  Mono<Employee> saveEmployee(Employee employee);
+
+  Flux<Employee> getAllEmployees();
+
+  Mono<CursorPage<Employee>> getEmployees(Integer after, Integer limit);
+
+  Mono<Employee> findEmployeeById(Integer id);
+
+  // completes empty instead of with an error when the id does not exist
+  Mono<Employee> findEmployee(Integer id);
+
+  Mono<Employee> updateEmployee(Employee employee);
+
+  Mono<Void> deleteEmployee(Integer id);
+}
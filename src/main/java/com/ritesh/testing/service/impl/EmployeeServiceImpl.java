@@ -1,65 +1,506 @@
 package com.ritesh.testing.service.impl;
 
+import com.ritesh.testing.cache.EmployeeCache;
+import com.ritesh.testing.cache.EmployeeSuggestIndex;
+import com.ritesh.testing.cache.SingleFlight;
+import com.ritesh.testing.datasource.ReplicaRouting;
+import com.ritesh.testing.exception.BadRequestException;
+import com.ritesh.testing.exception.EmployeeAlreadyExistsException;
+import com.ritesh.testing.exception.ResourceConflictException;
 import com.ritesh.testing.exception.ResourceNotFoundException;
+import com.ritesh.testing.exception.StaleVersionException;
+import com.ritesh.testing.model.CursorPage;
 import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeBatch;
+import com.ritesh.testing.model.EmployeeDelta;
+import com.ritesh.testing.model.EmployeeSearch;
+import com.ritesh.testing.model.EmployeeTombstone;
+import com.ritesh.testing.model.EmployeeVersion;
+import com.ritesh.testing.model.SearchPage;
+import com.ritesh.testing.outbox.EmployeeOutbox;
 import com.ritesh.testing.repository.EmployeeRepository;
+import com.ritesh.testing.repository.EmployeeSpecifications;
+import com.ritesh.testing.repository.EmployeeTombstoneRepository;
 import com.ritesh.testing.service.EmployeeService;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 @Service
 public class EmployeeServiceImpl implements EmployeeService {
 
+  // matches spring.jpa.properties.hibernate.jdbc.batch_size
+  private static final int BATCH_SIZE = 50;
+
+  private static final char WATERMARK_SEPARATOR = '_';
+
+  // ids per IN list, so a large multi-get cannot produce an oversized statement
+  private static final int ID_CHUNK_SIZE = 100;
+
+  // emails per existence check: a bulk create of tens of thousands of rows must stay far below the
+  // 65,535 placeholders MySQL allows a server-side prepared statement
+  private static final int EMAIL_CHUNK_SIZE = 1_000;
+
   private final EmployeeRepository employeeRepository;
+  private final EmployeeTombstoneRepository employeeTombstoneRepository;
+  private final EntityManager entityManager;
+  private final EmployeeCache employeeCache;
+  private final EmployeeSuggestIndex employeeSuggestIndex;
+  private final EmployeeOutbox employeeOutbox;
+  private final Duration changesSettleTime;
+  private final SingleFlight<Integer, Optional<Employee>> idLookups;
+  private final SingleFlight<String, Optional<Employee>> emailLookups;
 
-  public EmployeeServiceImpl(EmployeeRepository employeeRepository) {
+  public EmployeeServiceImpl(
+      EmployeeRepository employeeRepository,
+      EmployeeTombstoneRepository employeeTombstoneRepository,
+      EntityManager entityManager,
+      EmployeeCache employeeCache,
+      EmployeeSuggestIndex employeeSuggestIndex,
+      EmployeeOutbox employeeOutbox,
+      @Value("${app.changes.settle-time:5s}") Duration changesSettleTime,
+      @Value("${app.lookup.coalesce-timeout:2s}") Duration coalesceTimeout) {
     this.employeeRepository = employeeRepository;
+    this.employeeTombstoneRepository = employeeTombstoneRepository;
+    this.entityManager = entityManager;
+    this.employeeCache = employeeCache;
+    this.employeeSuggestIndex = employeeSuggestIndex;
+    this.employeeOutbox = employeeOutbox;
+    this.changesSettleTime = changesSettleTime;
+    this.idLookups = new SingleFlight<>(coalesceTimeout);
+    this.emailLookups = new SingleFlight<>(coalesceTimeout);
   }
 
   @Override
+  @Transactional
   public Employee saveEmployee(Employee employee) {
-    employeeRepository
-        .findByEmail(employee.getEmail())
-        .ifPresentOrElse(
-            employeeObject -> {
-              throw new ResourceNotFoundException(
-                  "Employee already exist with email :: " + employeeObject.getEmail());
-            },
-            () -> employeeRepository.save(employee));
-    return employee;
+    // ids are always generated so the create is a single insert instead of a merge
+    employee.setId(null);
+    employee.setVersion(null);
+    Employee savedEmployee;
+    try {
+      savedEmployee = employeeRepository.saveAndFlush(employee);
+    } catch (DataIntegrityViolationException e) {
+      if (isEmailConflict(e)) {
+        throw new EmployeeAlreadyExistsException(
+            "Employee already exist with email :: " + employee.getEmail(), e);
+      }
+      throw e;
+    }
+    employeeOutbox.created(List.of(savedEmployee));
+    employeeCache.invalidate(savedEmployee.getId());
+    employeeSuggestIndex.put(savedEmployee);
+    return savedEmployee;
+  }
+
+  @Override
+  @Transactional
+  public List<Employee> saveEmployees(List<Employee> employees) {
+    if (employees.isEmpty()) {
+      return List.of();
+    }
+    List<String> emails = new ArrayList<>(employees.size());
+    Set<String> distinctEmails = new HashSet<>();
+    List<Employee> creates = new ArrayList<>(employees.size());
+    for (Employee employee : employees) {
+      if (employee == null) {
+        throw new BadRequestException("Employee list must not contain null entries");
+      }
+      if (!distinctEmails.add(employee.getEmail())) {
+        throw new EmployeeAlreadyExistsException(
+            "Employee already exist with email :: " + employee.getEmail());
+      }
+      emails.add(employee.getEmail());
+      // ids are always generated so every row is persisted (and batched) rather than merged; the
+      // copies keep the caller's objects as they were
+      creates.add(
+          Employee.builder()
+              .firstName(employee.getFirstName())
+              .lastName(employee.getLastName())
+              .email(employee.getEmail())
+              .build());
+    }
+    for (int from = 0; from < emails.size(); from += EMAIL_CHUNK_SIZE) {
+      List<String> existingEmails =
+          employeeRepository.findExistingEmails(
+              emails.subList(from, Math.min(from + EMAIL_CHUNK_SIZE, emails.size())));
+      if (!existingEmails.isEmpty()) {
+        throw new EmployeeAlreadyExistsException(
+            "Employee already exist with email :: " + existingEmails.get(0));
+      }
+    }
+    for (int from = 0; from < creates.size(); from += BATCH_SIZE) {
+      List<Employee> batch = creates.subList(from, Math.min(from + BATCH_SIZE, creates.size()));
+      try {
+        employeeRepository.saveAll(batch);
+        employeeRepository.flush();
+      } catch (DataIntegrityViolationException e) {
+        if (isEmailConflict(e)) {
+          throw new EmployeeAlreadyExistsException(
+              "Employee already exist with one of the emails", e);
+        }
+        throw e;
+      }
+      employeeOutbox.created(batch);
+      entityManager.clear();
+      batch.forEach(
+          employee -> {
+            employeeCache.invalidate(employee.getId());
+            employeeSuggestIndex.put(employee);
+          });
+    }
+    return creates;
   }
 
   @Override
+  @Transactional(readOnly = true)
   public List<Employee> getAllEmployees() {
     return employeeRepository.findAll();
   }
 
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<Employee> getEmployees(Integer after, Integer limit) {
+    int pageSize = pageSize(limit);
+    // one extra row tells us whether another page exists without a count query
+    List<Employee> employees =
+        employeeRepository.findByIdGreaterThanOrderByIdAsc(
+            after == null ? 0 : after, PageRequest.of(0, pageSize + 1));
+    return page(employees, pageSize, Employee::getId);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<Map<String, Object>> getEmployees(
+      Integer after, Integer limit, Set<String> fields) {
+    int pageSize = pageSize(limit);
+    // column projections: no entities are hydrated or snapshotted for dirty checking
+    List<Map<String, Object>> rows =
+        employeeRepository.findFieldsByIdGreaterThan(
+            after == null ? 0 : after, fields, pageSize + 1);
+    return page(rows, pageSize, row -> (Integer) row.get("id"));
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPage<EmployeeVersion> getEmployeeVersions(Integer after, Integer limit) {
+    int pageSize = pageSize(limit);
+    List<EmployeeVersion> versions =
+        employeeRepository.findVersionsByIdGreaterThanOrderByIdAsc(
+            after == null ? 0 : after, PageRequest.of(0, pageSize + 1));
+    return page(versions, pageSize, EmployeeVersion::getId);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public SearchPage<Employee> searchEmployees(
+      EmployeeSearch search, Integer after, Integer limit, boolean count) {
+    Specification<Employee> specification = EmployeeSpecifications.matching(search);
+    int pageSize = pageSize(limit);
+    List<Employee> employees =
+        employeeRepository.search(
+            after == null
+                ? specification
+                : specification.and(EmployeeSpecifications.idGreaterThan(after)),
+            pageSize + 1);
+    CursorPage<Employee> page = page(employees, pageSize, Employee::getId);
+    // the total costs a second query, so it is only run on request
+    Long total = count ? employeeRepository.count(specification) : null;
+    return new SearchPage<>(page.getContent(), page.getNextCursor(), total);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void exportEmployees(Consumer<Employee> consumer) {
+    try (Stream<Employee> employees = employeeRepository.streamAll()) {
+      employees.forEach(
+          employee -> {
+            consumer.accept(employee);
+            // keep the persistence context empty so heap use does not grow with the table
+            entityManager.detach(employee);
+          });
+    }
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public void exportEmployees(Set<String> fields, Consumer<Map<String, Object>> consumer) {
+    try (Stream<Map<String, Object>> rows = employeeRepository.streamFields(fields)) {
+      rows.forEach(consumer);
+    }
+  }
+
+  @Override
+  public EmployeeDelta getChanges(String since, Integer limit) {
+    int pageSize = pageSize(limit);
+    Instant sinceTime = Instant.EPOCH;
+    int sinceId = 0;
+    if (since != null) {
+      int separator = since.lastIndexOf(WATERMARK_SEPARATOR);
+      try {
+        // a bare timestamp is accepted too, for a first sync from a known point in time
+        sinceTime = Instant.parse(separator < 0 ? since : since.substring(0, separator));
+        sinceId = separator < 0 ? 0 : Integer.parseInt(since.substring(separator + 1));
+      } catch (DateTimeParseException | NumberFormatException e) {
+        throw new BadRequestException("Invalid watermark :: " + since, e);
+      }
+    }
+    // rows stamped within the settle time may belong to transactions that have not committed yet;
+    // handing out a watermark past them would skip them for good
+    Instant until = Instant.now().minus(changesSettleTime);
+    if (!sinceTime.isBefore(until)) {
+      return new EmployeeDelta(List.of(), List.of(), watermark(sinceTime, sinceId), false);
+    }
+    Instant fromTime = sinceTime;
+    int fromId = sinceId;
+    PageRequest page = PageRequest.of(0, pageSize + 1);
+    // from the primary: a lagging replica would hide rows below the watermark for the same reason
+    List<Employee> changed =
+        ReplicaRouting.onPrimary(
+            () -> employeeRepository.findChangedSince(fromTime, fromId, until, page));
+    List<EmployeeTombstone> deleted =
+        ReplicaRouting.onPrimary(
+            () -> employeeTombstoneRepository.findDeletedSince(fromTime, fromId, until, page));
+    // merge both keysets in (time, id) order up to the page size
+    List<Employee> changedPage = new ArrayList<>();
+    List<Integer> deletedPage = new ArrayList<>();
+    int c = 0;
+    int d = 0;
+    Instant lastTime = sinceTime;
+    int lastId = sinceId;
+    while (c + d < pageSize && (c < changed.size() || d < deleted.size())) {
+      boolean takeChanged =
+          d == deleted.size()
+              || c < changed.size()
+                  && compare(
+                          changed.get(c).getUpdatedAt(),
+                          changed.get(c).getId(),
+                          deleted.get(d).getDeletedAt(),
+                          deleted.get(d).getEmployeeId())
+                      < 0;
+      if (takeChanged) {
+        Employee employee = changed.get(c++);
+        changedPage.add(employee);
+        lastTime = employee.getUpdatedAt();
+        lastId = employee.getId();
+      } else {
+        EmployeeTombstone tombstone = deleted.get(d++);
+        deletedPage.add(tombstone.getEmployeeId());
+        lastTime = tombstone.getDeletedAt();
+        lastId = tombstone.getEmployeeId();
+      }
+    }
+    boolean hasMore = c < changed.size() || d < deleted.size();
+    // once everything up to the settle point has been returned the watermark can move up to it
+    String watermark =
+        hasMore ? watermark(lastTime, lastId) : watermark(until, Integer.MAX_VALUE);
+    return new EmployeeDelta(changedPage, deletedPage, watermark, hasMore);
+  }
+
   @Override
   public Employee findEmployeeById(Integer id) {
-    return employeeRepository
-        .findById(id)
-        .orElseThrow(
-            () -> {
-              throw new ResourceNotFoundException("Employee not found with id :: " + id);
-            });
+    return findEmployee(id)
+        .orElseThrow(() -> new ResourceNotFoundException("Employee not found with id :: " + id));
   }
 
   @Override
+  public Optional<Employee> findEmployee(Integer id) {
+    Optional<Employee> cached = employeeCache.getIfPresent(id);
+    if (cached != null) {
+      return cached;
+    }
+    // the cache loads each id once, but callers blocked behind a load wait without a limit and
+    // each retry the query when it fails; coalescing bounds the wait and shares the failure too.
+    // Cached rows are shared by all clients and outlive replica lag: load them from the primary
+    return idLookups.execute(
+        id,
+        () ->
+            employeeCache.get(
+                id, key -> ReplicaRouting.onPrimary(() -> employeeRepository.findById(key))));
+  }
+
+  @Override
+  public EmployeeBatch findEmployees(List<Integer> ids) {
+    if (ids.size() > MAX_BATCH_IDS) {
+      throw new BadRequestException(
+          "At most " + MAX_BATCH_IDS + " ids per call, got " + ids.size());
+    }
+    Set<Integer> requested = new LinkedHashSet<>(ids);
+    if (requested.contains(null)) {
+      throw new BadRequestException("Employee ids must not be null");
+    }
+    // cached ids are served from memory; the rest are loaded together and cached, misses included
+    Map<Integer, Optional<Employee>> found =
+        employeeCache.getAll(
+            requested, uncached -> ReplicaRouting.onPrimary(() -> loadEmployees(uncached)));
+    List<Employee> employees = new ArrayList<>(requested.size());
+    List<Integer> missing = new ArrayList<>();
+    for (Integer id : requested) {
+      Optional<Employee> employee = found.getOrDefault(id, Optional.empty());
+      if (employee.isPresent()) {
+        employees.add(employee.get());
+      } else {
+        missing.add(id);
+      }
+    }
+    return new EmployeeBatch(employees, missing);
+  }
+
+  private Map<Integer, Optional<Employee>> loadEmployees(Set<Integer> ids) {
+    Map<Integer, Optional<Employee>> employees = new HashMap<>();
+    List<Integer> chunk = new ArrayList<>(Math.min(ids.size(), ID_CHUNK_SIZE));
+    for (Integer id : ids) {
+      employees.put(id, Optional.empty());
+      chunk.add(id);
+      if (chunk.size() == ID_CHUNK_SIZE || employees.size() == ids.size()) {
+        for (Employee employee : employeeRepository.findAllById(chunk)) {
+          employees.put(employee.getId(), Optional.of(employee));
+        }
+        chunk = new ArrayList<>(ID_CHUNK_SIZE);
+      }
+    }
+    return employees;
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public Optional<Map<String, Object>> findEmployee(Integer id, Set<String> fields) {
+    return employeeRepository.findFieldsById(id, fields);
+  }
+
+  @Override
+  public Optional<Employee> findEmployeeByEmail(String email) {
+    // concurrent lookups of one email share a query; a result handed to other callers is read
+    // from the primary so none of them sees replica lag
+    return emailLookups.execute(
+        email, () -> ReplicaRouting.onPrimary(() -> employeeRepository.findByEmail(email)));
+  }
+
+  @Override
+  @Transactional
   public Employee updateEmployee(Employee employee) {
-    employeeRepository
-        .findByEmail(employee.getEmail())
-        .ifPresentOrElse(
-            employeeObject -> employeeRepository.save(employee),
-            () -> {
-              throw new ResourceNotFoundException(
-                  "Employee not found for email :: " + employee.getEmail());
-            });
-    return employee;
+    Integer id = employee.getId();
+    Integer version = employee.getVersion();
+    // a managed entity is written with Hibernate's own version check and keeps its second-level
+    // cache entry coherent; without a version to check, the row is locked so no write is lost
+    Optional<Employee> found =
+        version == null
+            ? employeeRepository.findForUpdateById(id)
+            : employeeRepository.findById(id);
+    Employee current =
+        found.orElseThrow(
+            () -> new ResourceNotFoundException("Employee not found with id :: " + id));
+    if (version != null && !version.equals(current.getVersion())) {
+      throw new StaleVersionException("Employee version " + version + " is stale for id :: " + id);
+    }
+    current.setFirstName(employee.getFirstName());
+    current.setLastName(employee.getLastName());
+    current.setEmail(employee.getEmail());
+    try {
+      employeeRepository.flush();
+    } catch (OptimisticLockingFailureException e) {
+      throw new StaleVersionException("Employee version " + version + " is stale for id :: " + id);
+    } catch (DataIntegrityViolationException e) {
+      if (isEmailConflict(e)) {
+        throw new ResourceConflictException(
+            "Employee already exist with email :: " + employee.getEmail(), e);
+      }
+      throw e;
+    }
+    employeeOutbox.updated(current);
+    employeeCache.invalidate(id);
+    employeeSuggestIndex.put(current);
+    return current;
   }
 
   @Override
+  @Transactional
   public void deleteEmployee(Integer id) {
-    employeeRepository.deleteById(id);
+    // locked like an unconditional update, so a concurrent write cannot fail the delete
+    Employee current =
+        employeeRepository
+            .findForUpdateById(id)
+            .orElseThrow(
+                () -> new ResourceNotFoundException("Employee not found with id :: " + id));
+    employeeRepository.delete(current);
+    entityManager.persist(new EmployeeTombstone(id, Instant.now()));
+    employeeOutbox.deleted(id);
+    employeeCache.invalidate(id);
+    employeeSuggestIndex.remove(id);
+  }
+
+  @Override
+  @Transactional
+  public void deleteEmployee(Integer id, Integer version) {
+    Employee current =
+        employeeRepository
+            .findById(id)
+            .orElseThrow(
+                () -> new ResourceNotFoundException("Employee not found with id :: " + id));
+    if (!version.equals(current.getVersion())) {
+      throw new StaleVersionException("Employee version " + version + " is stale for id :: " + id);
+    }
+    try {
+      employeeRepository.delete(current);
+      employeeRepository.flush();
+    } catch (OptimisticLockingFailureException e) {
+      throw new StaleVersionException("Employee version " + version + " is stale for id :: " + id);
+    }
+    entityManager.persist(new EmployeeTombstone(id, Instant.now()));
+    employeeOutbox.deleted(id);
+    employeeCache.invalidate(id);
+    employeeSuggestIndex.remove(id);
+  }
+
+  private static <T> CursorPage<T> page(List<T> rows, int pageSize, Function<T, Integer> id) {
+    if (rows.size() <= pageSize) {
+      return new CursorPage<>(rows, null);
+    }
+    List<T> page = rows.subList(0, pageSize);
+    return new CursorPage<>(page, id.apply(page.get(pageSize - 1)));
+  }
+
+  private static int compare(Instant time, Integer id, Instant otherTime, Integer otherId) {
+    int byTime = time.compareTo(otherTime);
+    return byTime != 0 ? byTime : Integer.compare(id, otherId);
+  }
+
+  private static String watermark(Instant time, int id) {
+    return time.toString() + WATERMARK_SEPARATOR + id;
+  }
+
+  private static int pageSize(Integer limit) {
+    return limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+  }
+
+  private static boolean isEmailConflict(DataIntegrityViolationException e) {
+    return e.getCause() instanceof ConstraintViolationException violation
+        && violation.getConstraintName() != null
+        && violation
+            .getConstraintName()
+            .toLowerCase(Locale.ROOT)
+            .contains(Employee.EMAIL_CONSTRAINT);
   }
 }
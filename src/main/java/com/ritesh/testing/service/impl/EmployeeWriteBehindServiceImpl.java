@@ -0,0 +1,276 @@
+package com.ritesh.testing.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ritesh.testing.exception.WriteQueueFullException;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.WriteTicket;
+import com.ritesh.testing.service.EmployeeService;
+import com.ritesh.testing.service.EmployeeWriteBehindService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+@ConditionalOnProperty(name = "app.write-behind.enabled", havingValue = "true")
+public class EmployeeWriteBehindServiceImpl implements EmployeeWriteBehindService, DisposableBean {
+
+  private static final Logger log = LoggerFactory.getLogger(EmployeeWriteBehindServiceImpl.class);
+
+  private final EmployeeService employeeService;
+  private final TransactionTemplate transactionTemplate;
+  private final int capacity;
+  private final int batchSize;
+  private final long flushIntervalNanos;
+  private final Cache<String, WriteTicket> tickets;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition batchReady = lock.newCondition();
+  // insertion ordered so writes are applied in arrival order; updates to one id share an entry
+  private final LinkedHashMap<String, PendingWrite> pending = new LinkedHashMap<>();
+  private final Thread flusher;
+  private volatile boolean running = true;
+
+  public EmployeeWriteBehindServiceImpl(
+      EmployeeService employeeService,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.write-behind.capacity:10000}") int capacity,
+      @Value("${app.write-behind.batch-size:500}") int batchSize,
+      @Value("${app.write-behind.flush-interval:200ms}") Duration flushInterval,
+      @Value("${app.write-behind.ticket-retention:1h}") Duration ticketRetention) {
+    this.employeeService = employeeService;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.capacity = capacity;
+    this.batchSize = batchSize;
+    this.flushIntervalNanos = flushInterval.toNanos();
+    this.tickets = Caffeine.newBuilder().expireAfterWrite(ticketRetention).build();
+    Gauge.builder("employee.write_behind.queue.size", this, service -> service.queueSize())
+        .register(meterRegistry);
+    this.flusher = new Thread(this::runFlusher, "employee-write-behind");
+    this.flusher.setDaemon(true);
+    this.flusher.start();
+  }
+
+  @Override
+  public WriteTicket submitCreate(Employee employee) {
+    String token = UUID.randomUUID().toString();
+    enqueue("create:" + token, PendingWrite.Type.CREATE, employee, token);
+    return ticket(token);
+  }
+
+  @Override
+  public WriteTicket submitUpdate(Employee employee) {
+    String token = UUID.randomUUID().toString();
+    enqueue("update:" + employee.getId(), PendingWrite.Type.UPDATE, employee, token);
+    return ticket(token);
+  }
+
+  @Override
+  public Optional<WriteTicket> findTicket(String token) {
+    return Optional.ofNullable(tickets.getIfPresent(token));
+  }
+
+  @Override
+  public void flush() {
+    List<PendingWrite> batch;
+    do {
+      batch = drain();
+      apply(batch);
+    } while (batch.size() == batchSize);
+  }
+
+  @Override
+  public void destroy() throws InterruptedException {
+    running = false;
+    flusher.interrupt();
+    flusher.join(TimeUnit.SECONDS.toMillis(30));
+    flush();
+  }
+
+  private void enqueue(String key, PendingWrite.Type type, Employee employee, String token) {
+    lock.lock();
+    try {
+      PendingWrite write = pending.get(key);
+      if (write != null) {
+        // coalesce: the queued update now carries the latest state and answers every token
+        write.employee = copy(employee);
+        write.tokens.add(token);
+      } else {
+        if (pending.size() >= capacity) {
+          throw new WriteQueueFullException(
+              "Write queue is full (" + capacity + " pending writes), retry later");
+        }
+        pending.put(key, new PendingWrite(type, copy(employee), token));
+      }
+      tickets.put(
+          token, WriteTicket.builder().token(token).status(WriteTicket.Status.PENDING).build());
+      if (pending.size() >= batchSize) {
+        batchReady.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void runFlusher() {
+    while (running) {
+      try {
+        awaitBatch();
+        flush();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (RuntimeException e) {
+        log.error("Write-behind flush failed", e);
+      }
+    }
+  }
+
+  private void awaitBatch() throws InterruptedException {
+    lock.lock();
+    try {
+      long remaining = flushIntervalNanos;
+      while (pending.size() < batchSize && remaining > 0) {
+        remaining = batchReady.awaitNanos(remaining);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private List<PendingWrite> drain() {
+    lock.lock();
+    try {
+      List<PendingWrite> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+      Iterator<PendingWrite> iterator = pending.values().iterator();
+      while (iterator.hasNext() && batch.size() < batchSize) {
+        batch.add(iterator.next());
+        iterator.remove();
+      }
+      return batch;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void apply(List<PendingWrite> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      transactionTemplate.executeWithoutResult(status -> applyAll(batch));
+      batch.forEach(write -> complete(write, WriteTicket.Status.APPLIED, null));
+    } catch (RuntimeException e) {
+      // one rejected write must not sink the rest of the batch: replay them one by one
+      for (PendingWrite write : batch) {
+        try {
+          transactionTemplate.executeWithoutResult(status -> applyAll(List.of(write)));
+          complete(write, WriteTicket.Status.APPLIED, null);
+        } catch (RuntimeException writeException) {
+          complete(write, WriteTicket.Status.FAILED, writeException.getMessage());
+        }
+      }
+    }
+  }
+
+  private void applyAll(List<PendingWrite> batch) {
+    List<PendingWrite> createWrites = new ArrayList<>();
+    List<Employee> creates = new ArrayList<>();
+    for (PendingWrite write : batch) {
+      // every attempt starts from the submitted state: a rolled back attempt leaves the id and
+      // version it assigned on its own copy, and replaying those would fail as stale
+      write.applied = copy(write.employee);
+      if (write.type == PendingWrite.Type.CREATE) {
+        createWrites.add(write);
+        creates.add(write.applied);
+      }
+    }
+    if (!creates.isEmpty()) {
+      // saved copies come back in submission order, carrying the generated ids
+      List<Employee> saved = employeeService.saveEmployees(creates);
+      for (int i = 0; i < createWrites.size(); i++) {
+        createWrites.get(i).applied = saved.get(i);
+      }
+    }
+    for (PendingWrite write : batch) {
+      if (write.type == PendingWrite.Type.UPDATE) {
+        write.applied = employeeService.updateEmployee(write.applied);
+      }
+    }
+  }
+
+  private void complete(PendingWrite write, WriteTicket.Status status, String message) {
+    for (String token : write.tokens) {
+      tickets.put(
+          token,
+          WriteTicket.builder()
+              .token(token)
+              .status(status)
+              .employeeId(status == WriteTicket.Status.APPLIED ? write.applied.getId() : null)
+              .message(message)
+              .build());
+    }
+  }
+
+  private static Employee copy(Employee employee) {
+    return Employee.builder()
+        .id(employee.getId())
+        .firstName(employee.getFirstName())
+        .lastName(employee.getLastName())
+        .email(employee.getEmail())
+        .version(employee.getVersion())
+        .build();
+  }
+
+  private WriteTicket ticket(String token) {
+    return tickets.getIfPresent(token);
+  }
+
+  private int queueSize() {
+    lock.lock();
+    try {
+      return pending.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static final class PendingWrite {
+
+    enum Type {
+      CREATE,
+      UPDATE
+    }
+
+    private final Type type;
+    private final List<String> tokens = new ArrayList<>(1);
+    // as submitted, copied at enqueue time
+    private Employee employee;
+    // the copy the last attempt wrote
+    private Employee applied;
+
+    private PendingWrite(Type type, Employee employee, String token) {
+      this.type = type;
+      this.employee = employee;
+      this.tokens.add(token);
+    }
+  }
+}
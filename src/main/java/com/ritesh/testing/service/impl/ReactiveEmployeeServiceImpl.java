@@ -0,0 +1,161 @@
+package com.ritesh.testing.service.impl;
+
+import com.ritesh.testing.cache.EmployeeCache;
+import com.ritesh.testing.cache.EmployeeSuggestIndex;
+import com.ritesh.testing.exception.EmployeeAlreadyExistsException;
+import com.ritesh.testing.exception.ResourceConflictException;
+import com.ritesh.testing.exception.ResourceNotFoundException;
+import com.ritesh.testing.exception.StaleVersionException;
+import com.ritesh.testing.model.CursorPage;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.repository.ReactiveEmployeeRepository;
+import com.ritesh.testing.service.ReactiveEmployeeService;
+import org.hibernate.Cache;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Locale;
+
+import static com.ritesh.testing.service.EmployeeService.DEFAULT_PAGE_SIZE;
+import static com.ritesh.testing.service.EmployeeService.MAX_PAGE_SIZE;
+
+@Service
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+  private final ReactiveEmployeeRepository reactiveEmployeeRepository;
+  private final EmployeeCache employeeCache;
+  private final EmployeeSuggestIndex employeeSuggestIndex;
+  private final EntityManagerFactory entityManagerFactory;
+
+  public ReactiveEmployeeServiceImpl(
+      ReactiveEmployeeRepository reactiveEmployeeRepository,
+      EmployeeCache employeeCache,
+      EmployeeSuggestIndex employeeSuggestIndex,
+      EntityManagerFactory entityManagerFactory) {
+    this.reactiveEmployeeRepository = reactiveEmployeeRepository;
+    this.employeeCache = employeeCache;
+    this.employeeSuggestIndex = employeeSuggestIndex;
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  @Override
+  public Mono<Employee> saveEmployee(Employee employee) {
+    return reactiveEmployeeRepository
+        .insert(employee)
+        .onErrorMap(
+            ReactiveEmployeeServiceImpl::isEmailConflict,
+            e ->
+                new EmployeeAlreadyExistsException(
+                    "Employee already exist with email :: " + employee.getEmail(), e))
+        .doOnNext(
+            savedEmployee -> {
+              employeeCache.invalidate(savedEmployee.getId());
+              evictHibernateCaches(savedEmployee.getId());
+              employeeSuggestIndex.put(savedEmployee);
+            });
+  }
+
+  @Override
+  public Flux<Employee> getAllEmployees() {
+    return reactiveEmployeeRepository.findAll();
+  }
+
+  @Override
+  public Mono<CursorPage<Employee>> getEmployees(Integer after, Integer limit) {
+    int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    return reactiveEmployeeRepository
+        .findPage(after == null ? 0 : after, pageSize + 1)
+        .collectList()
+        .map(
+            employees -> {
+              if (employees.size() <= pageSize) {
+                return new CursorPage<>(employees, null);
+              }
+              List<Employee> page = employees.subList(0, pageSize);
+              return new CursorPage<>(page, page.get(pageSize - 1).getId());
+            });
+  }
+
+  @Override
+  public Mono<Employee> findEmployeeById(Integer id) {
+    return findEmployee(id)
+        .switchIfEmpty(
+            Mono.error(() -> new ResourceNotFoundException("Employee not found with id :: " + id)));
+  }
+
+  @Override
+  public Mono<Employee> findEmployee(Integer id) {
+    return reactiveEmployeeRepository.findById(id);
+  }
+
+  @Override
+  public Mono<Employee> updateEmployee(Employee employee) {
+    Integer id = employee.getId();
+    Integer version = employee.getVersion();
+    return reactiveEmployeeRepository
+        .update(employee)
+        .onErrorMap(
+            ReactiveEmployeeServiceImpl::isEmailConflict,
+            e ->
+                new ResourceConflictException(
+                    "Employee already exist with email :: " + employee.getEmail(), e))
+        .doOnNext(
+            updatedEmployee -> {
+              employeeCache.invalidate(id);
+              evictHibernateCaches(id);
+              employeeSuggestIndex.put(updatedEmployee);
+            })
+        .switchIfEmpty(Mono.defer(() -> notUpdated(id, version)));
+  }
+
+  @Override
+  public Mono<Void> deleteEmployee(Integer id) {
+    return reactiveEmployeeRepository
+        .deleteById(id)
+        .doOnNext(
+            deletedRows -> {
+              employeeCache.invalidate(id);
+              evictHibernateCaches(id);
+              employeeSuggestIndex.remove(id);
+            })
+        .then();
+  }
+
+  // R2DBC drivers only name the violated constraint in the message; NOT NULL and length
+  // violations are left as they are
+  private static boolean isEmailConflict(Throwable e) {
+    if (!(e instanceof DataIntegrityViolationException)) {
+      return false;
+    }
+    String message = ((DataIntegrityViolationException) e).getMostSpecificCause().getMessage();
+    return message != null
+        && message.toLowerCase(Locale.ROOT).contains(Employee.EMAIL_CONSTRAINT);
+  }
+
+  // R2DBC writes bypass Hibernate, so its second-level and query caches are evicted by hand
+  private void evictHibernateCaches(Integer id) {
+    Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    cache.evict(Employee.class, id);
+    cache.evictDefaultQueryRegion();
+  }
+
+  // only the failure path pays for a second statement to tell a stale version from a missing row
+  private Mono<Employee> notUpdated(Integer id, Integer version) {
+    if (version == null) {
+      return Mono.error(new ResourceNotFoundException("Employee not found with id :: " + id));
+    }
+    return reactiveEmployeeRepository
+        .existsById(id)
+        .flatMap(
+            exists ->
+                Mono.error(
+                    exists
+                        ? new StaleVersionException(
+                            "Employee version " + version + " is stale for id :: " + id)
+                        : new ResourceNotFoundException("Employee not found with id :: " + id)));
+  }
+}
@@ -1,8 +1,18 @@
 package com.ritesh.testing.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.ritesh.testing.cache.EmployeeSuggestIndex;
+import com.ritesh.testing.exception.BadRequestException;
+import com.ritesh.testing.exception.EmployeeAlreadyExistsException;
+import com.ritesh.testing.exception.ResourceConflictException;
 import com.ritesh.testing.exception.ResourceNotFoundException;
+import com.ritesh.testing.exception.StaleVersionException;
+import com.ritesh.testing.model.CursorPage;
 import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeBatch;
+import com.ritesh.testing.model.EmployeeSuggestion;
 import com.ritesh.testing.service.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,29 +20,45 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
 import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-@WebMvcTest
+@WebMvcTest(EmployeeController.class)
 public class EmployeeControllerTest {
 
   Employee employee;
   @Autowired private ObjectMapper objectMapper;
   @Autowired private MockMvc mockMvc;
   @MockBean private EmployeeService employeeService;
+  @MockBean private EmployeeSuggestIndex employeeSuggestIndex;
 
   @BeforeEach
   public void setup() {
@@ -69,6 +95,55 @@ public class EmployeeControllerTest {
         .andExpect(jsonPath("$.email", is(employee.getEmail())));
   }
 
+  // Negative scenario
+  @DisplayName("Create employee with existing email Rest Api")
+  @Test
+  void givenExistingEmail_whenCreateEmployee_thenReturnConflict() throws Exception {
+    // given - precondition or setup
+    given(employeeService.saveEmployee(any(Employee.class)))
+        .willThrow(new EmployeeAlreadyExistsException("Employee already exist"));
+
+    // when - action or the behavior that we are going to test
+    ResultActions response =
+        mockMvc.perform(
+            post("/api/employee")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+    // then - verify the output
+    response.andExpect(status().isConflict()).andDo(print());
+  }
+
+  // Junit test for bulk createEmployees Rest Api
+  @DisplayName("Bulk create employees Rest Api")
+  @Test
+  void givenEmployeeList_whenCreateEmployees_thenReturnSavedEmployees() throws Exception {
+    // given - precondition or setup
+    List<Employee> employeeList =
+        List.of(
+            employee,
+            Employee.builder()
+                .firstName("Deep")
+                .lastName("Singh")
+                .email("deep.singh@gmail.com")
+                .build());
+    given(employeeService.saveEmployees(any())).willAnswer(invocation -> invocation.getArgument(0));
+
+    // when - action or the behavior that we are going to test
+    ResultActions response =
+        mockMvc.perform(
+            post("/api/employee/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employeeList)));
+
+    // then - verify the output
+    response
+        .andDo(print())
+        .andExpect(status().isCreated())
+        .andExpect(jsonPath("$.size()", equalTo(employeeList.size())))
+        .andExpect(jsonPath("$[1].email", is("deep.singh@gmail.com")));
+  }
+
   // Junit test for getAllEmployees Rest API
   @DisplayName("GetAllEmployee Rest API")
   @Test
@@ -84,7 +159,8 @@ public class EmployeeControllerTest {
                 .email("riteshsingh893@gmail.com")
                 .build());
 
-    given(employeeService.getAllEmployees()).willReturn(employeeList);
+    given(employeeService.getEmployees(null, null))
+        .willReturn(new CursorPage<>(employeeList, null));
 
     // when - action or the behavior that we are going to test
     ResultActions response = mockMvc.perform(get("/api/employee"));
@@ -93,7 +169,220 @@ public class EmployeeControllerTest {
     response
         .andDo(print())
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.size()", equalTo(employeeList.size())));
+        .andExpect(jsonPath("$.content.size()", equalTo(employeeList.size())))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist())
+        .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/\"")));
+  }
+
+  // Junit test for keyset paginated getEmployees Rest API
+  @DisplayName("Get employees page after cursor Rest API")
+  @Test
+  void givenCursorAndLimit_whenGetEmployees_thenReturnPageWithNextCursor() throws Exception {
+    // given - precondition or setup
+    given(employeeService.getEmployees(1, 1))
+        .willReturn(new CursorPage<>(List.of(employee), employee.getId()));
+
+    // when - action or the behavior that we are going to test
+    ResultActions response =
+        mockMvc.perform(get("/api/employee").param("after", "1").param("limit", "1"));
+
+    // then - verify the output
+    response
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content.size()", equalTo(1)))
+        .andExpect(jsonPath("$.nextCursor", is(employee.getId())));
+  }
+
+  // Junit test for projected getEmployees Rest API
+  @DisplayName("Get employees page with selected fields Rest API")
+  @Test
+  void givenFields_whenGetEmployees_thenReturnOnlySelectedFields() throws Exception {
+    // given - precondition or setup
+    Map<String, Object> row = Map.of("id", employee.getId(), "email", employee.getEmail());
+    given(employeeService.getEmployees(null, null, Set.of("id", "email")))
+        .willReturn(new CursorPage<>(List.of(row), null));
+
+    // when - action or the behavior that we are going to test
+    ResultActions response = mockMvc.perform(get("/api/employee").param("fields", "id,email"));
+
+    // then - verify the output
+    response
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].email", is(employee.getEmail())))
+        .andExpect(jsonPath("$.content[0].firstName").doesNotExist());
+  }
+
+  // Junit test for multi-get Rest API
+  @DisplayName("Get employees by ids Rest API")
+  @Test
+  void givenIds_whenGetEmployeesByIds_thenReturnEmployeesAndMissingIds() throws Exception {
+    // given - precondition or setup
+    given(employeeService.findEmployees(List.of(2, 1)))
+        .willReturn(new EmployeeBatch(List.of(employee), List.of(2)));
+
+    // when - action or the behavior that we are going to test
+    ResultActions response = mockMvc.perform(get("/api/employee").param("ids", "2,1"));
+
+    // then - verify the output
+    response
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.employees[0].email", is(employee.getEmail())))
+        .andExpect(jsonPath("$.missing[0]", is(2)));
+  }
+
+  // Junit test for multi-get Rest API with a projection
+  @DisplayName("Get employees by ids with fields Rest API is rejected")
+  @Test
+  void givenIdsAndFields_whenGetEmployees_thenReturnBadRequest() throws Exception {
+    // when - action or the behavior that we are going to test
+    ResultActions response =
+        mockMvc.perform(get("/api/employee").param("ids", "1,2").param("fields", "email"));
+
+    // then - verify the output
+    response.andDo(print()).andExpect(status().isBadRequest());
+    verifyNoInteractions(employeeService);
+  }
+
+  // Junit test for projected getEmployeeById Rest API with an unknown field
+  @DisplayName("Get employee by id with unknown field Rest API")
+  @Test
+  void givenUnknownField_whenGetEmployeeById_thenReturnBadRequest() throws Exception {
+    // given - precondition or setup
+    given(employeeService.findEmployee(employee.getId(), Set.of("salary")))
+        .willThrow(BadRequestException.class);
+
+    // when - action or the behavior that we are going to test
+    ResultActions response =
+        mockMvc.perform(get("/api/employee/{id}", employee.getId()).param("fields", "salary"));
+
+    // then - verify the output
+    response.andExpect(status().isBadRequest()).andDo(print());
+  }
+
+  // Junit test for getEmployeeById Rest API failing on a bug rather than on the request
+  @DisplayName("Get employee by id with an internal IllegalArgumentException is not a bad request")
+  @Test
+  void givenInternalIllegalArgument_whenGetEmployeeById_thenNotMappedToBadRequest() {
+    // given - precondition or setup
+    given(employeeService.findEmployee(employee.getId()))
+        .willThrow(new IllegalArgumentException("bug"));
+
+    // then - verify the output
+    assertThatThrownBy(() -> mockMvc.perform(get("/api/employee/{id}", employee.getId())))
+        .hasCauseInstanceOf(IllegalArgumentException.class);
+  }
+
+  // Junit test for suggest employees Rest API
+  @DisplayName("Suggest employees Rest API caps the limit")
+  @Test
+  void givenLargeLimit_whenSuggestEmployees_thenCapLimit() throws Exception {
+    // given - precondition or setup
+    EmployeeSuggestion suggestion =
+        EmployeeSuggestion.builder()
+            .id(employee.getId())
+            .firstName(employee.getFirstName())
+            .lastName(employee.getLastName())
+            .email(employee.getEmail())
+            .build();
+    given(employeeSuggestIndex.suggest("rit", 50)).willReturn(List.of(suggestion));
+
+    // when - action or the behavior that we are going to test
+    ResultActions response =
+        mockMvc.perform(get("/api/employee/suggest").param("q", "rit").param("limit", "1000"));
+
+    // then - verify the output
+    response
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.size()", equalTo(1)))
+        .andExpect(jsonPath("$[0].email", is(employee.getEmail())));
+  }
+
+  // Junit test for export employees Rest API
+  @DisplayName("Export employees as NDJSON Rest API")
+  @Test
+  void givenEmployees_whenExportEmployees_thenStreamOneJsonLinePerEmployee() throws Exception {
+    // given - precondition or setup
+    willAnswer(
+            invocation -> {
+              Consumer<Employee> consumer = invocation.getArgument(0);
+              consumer.accept(employee);
+              consumer.accept(employee);
+              return null;
+            })
+        .given(employeeService)
+        .exportEmployees(any());
+
+    // when - action or the behavior that we are going to test
+    MvcResult mvcResult = mockMvc.perform(get("/api/employee/export")).andReturn();
+    ResultActions response = mockMvc.perform(asyncDispatch(mvcResult));
+
+    // then - verify the output
+    String line = objectMapper.writeValueAsString(employee) + "\n";
+    response
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(content().contentType("application/x-ndjson"))
+        .andExpect(content().string(line + line));
+  }
+
+  // Junit test for binary export employees Rest API
+  @DisplayName("Export employees as a CBOR sequence Rest API")
+  @Test
+  void givenCborSeqAccept_whenExportEmployees_thenStreamCborItems() throws Exception {
+    // given - precondition or setup
+    willAnswer(
+            invocation -> {
+              Consumer<Employee> consumer = invocation.getArgument(0);
+              consumer.accept(employee);
+              consumer.accept(employee);
+              return null;
+            })
+        .given(employeeService)
+        .exportEmployees(any());
+
+    // when - action or the behavior that we are going to test
+    MvcResult mvcResult =
+        mockMvc.perform(get("/api/employee/export").accept("application/cbor-seq")).andReturn();
+    MvcResult result = mockMvc.perform(asyncDispatch(mvcResult)).andReturn();
+
+    // then - verify the output
+    assertThat(result.getResponse().getContentType()).isEqualTo("application/cbor-seq");
+    List<Employee> employees =
+        new CBORMapper()
+            .readerFor(Employee.class)
+            .<Employee>readValues(result.getResponse().getContentAsByteArray())
+            .readAll();
+    assertThat(employees).hasSize(2).allMatch(e -> e.getEmail().equals(employee.getEmail()));
+  }
+
+  // Junit test for binary createEmployees Rest Api
+  @DisplayName("Create employees from a CBOR body Rest Api")
+  @Test
+  void givenCborBody_whenCreateEmployees_thenReturnCborEmployees() throws Exception {
+    // given - precondition or setup
+    CBORMapper cborMapper = new CBORMapper();
+    given(employeeService.saveEmployees(anyList()))
+        .willAnswer((invocation -> invocation.getArgument(0)));
+
+    // when - action or the behavior that we are going to test
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/employee/bulk")
+                    .contentType("application/cbor")
+                    .accept("application/cbor")
+                    .content(cborMapper.writeValueAsBytes(List.of(employee))))
+            .andExpect(status().isCreated())
+            .andReturn();
+
+    // then - verify the output
+    assertThat(result.getResponse().getContentType()).isEqualTo("application/cbor");
+    JsonNode employees = cborMapper.readTree(result.getResponse().getContentAsByteArray());
+    assertThat(employees.get(0).get("email").asText()).isEqualTo(employee.getEmail());
   }
 
   // Positive scenario
@@ -103,7 +392,7 @@ public class EmployeeControllerTest {
   void givenEmployeeId_whenGetEmployeeById_thenReturnEmployeeObject() throws Exception {
     // given - precondition or setup
     Integer employeeId = 1;
-    given(employeeService.findEmployeeById(employeeId)).willReturn(employee);
+    given(employeeService.findEmployee(employeeId)).willReturn(Optional.of(employee));
 
     // when - action or behavior that we are going to test
     ResultActions response = mockMvc.perform(get("/api/employee/{id}", employeeId));
@@ -122,7 +411,7 @@ public class EmployeeControllerTest {
   void givenEmployeeId_whenGetEmployeeById_thenReturnNotFound() throws Exception {
     // given - precondition or setup
     Integer employeeId = 1;
-    given(employeeService.findEmployeeById(employeeId)).willThrow(ResourceNotFoundException.class);
+    given(employeeService.findEmployee(employeeId)).willReturn(Optional.empty());
 
     // when - action or behavior that we are going to test
     ResultActions response = mockMvc.perform(get("/api/employee/{id}", employeeId));
@@ -145,7 +434,6 @@ public class EmployeeControllerTest {
             .email("riteshsingh893@gmail.com")
             .build();
 
-    given(employeeService.findEmployeeById(employeeId)).willReturn(employee);
     given(employeeService.updateEmployee(any(Employee.class)))
         .willAnswer(invocation -> invocation.getArgument(0));
 
@@ -177,9 +465,8 @@ public class EmployeeControllerTest {
             .email("riteshsingh893@gmail.com")
             .build();
 
-    given(employeeService.findEmployeeById(employeeId)).willThrow(ResourceNotFoundException.class);
     given(employeeService.updateEmployee(any(Employee.class)))
-        .willAnswer(invocation -> invocation.getArgument(0));
+        .willThrow(ResourceNotFoundException.class);
 
     // when - action or behavior that we are going to test
     ResultActions response =
@@ -192,6 +479,69 @@ public class EmployeeControllerTest {
     response.andExpect(status().isNotFound()).andDo(print());
   }
 
+  // Negative scenario
+  // Junit test for update employee Rest API
+  @DisplayName("Update employee Rest Api (stale version)")
+  @Test
+  void givenStaleVersion_whenUpdateEmployee_thenReturnConflict() throws Exception {
+    // given - precondition or setup
+    Integer employeeId = 1;
+    employee.setVersion(0);
+    given(employeeService.updateEmployee(any(Employee.class)))
+        .willThrow(ResourceConflictException.class);
+
+    // when - action or behavior that we are going to test
+    ResultActions response =
+        mockMvc.perform(
+            put("/api/employee/{id}", employeeId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+    // then - verify the output
+    response.andExpect(status().isConflict()).andDo(print());
+  }
+
+  // Junit test for conditional getEmployeeById Rest API
+  @DisplayName("Get employee by id with matching ETag Rest API")
+  @Test
+  void givenMatchingETag_whenGetEmployeeById_thenReturnNotModified() throws Exception {
+    // given - precondition or setup
+    employee.setVersion(2);
+    given(employeeService.findEmployee(employee.getId())).willReturn(Optional.of(employee));
+
+    // when - action or behavior that we are going to test
+    ResultActions response =
+        mockMvc.perform(
+            get("/api/employee/{id}", employee.getId()).header(HttpHeaders.IF_NONE_MATCH, "\"2\""));
+
+    // then - verify the output
+    response
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+        .andExpect(content().string(""))
+        .andDo(print());
+  }
+
+  // Junit test for conditional update employee Rest API
+  @DisplayName("Update employee with stale If-Match Rest API")
+  @Test
+  void givenStaleIfMatch_whenUpdateEmployee_thenReturnPreconditionFailed() throws Exception {
+    // given - precondition or setup
+    given(employeeService.updateEmployee(any(Employee.class)))
+        .willThrow(StaleVersionException.class);
+
+    // when - action or behavior that we are going to test
+    ResultActions response =
+        mockMvc.perform(
+            put("/api/employee/{id}", employee.getId())
+                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+    // then - verify the output
+    response.andExpect(status().isPreconditionFailed()).andDo(print());
+  }
+
   // Junit test for delete employee Rest API
   @DisplayName("Delete employee Rest Api (negative)")
   @Test
@@ -206,4 +556,19 @@ public class EmployeeControllerTest {
     // then - verify the output
     response.andExpect(status().isOk()).andDo(print());
   }
+
+  // Junit test for delete employee Rest API
+  @DisplayName("Delete missing employee Rest Api")
+  @Test
+  void givenMissingEmployeeId_whenDeleteEmployee_thenReturn404() throws Exception {
+    // given - precondition or setup
+    Integer employeeId = 1;
+    willThrow(ResourceNotFoundException.class).given(employeeService).deleteEmployee(employeeId);
+
+    // when - action or behavior that we are going to test
+    ResultActions response = mockMvc.perform(delete("/api/employee/{id}", employeeId));
+
+    // then - verify the output
+    response.andExpect(status().isNotFound()).andDo(print());
+  }
 }
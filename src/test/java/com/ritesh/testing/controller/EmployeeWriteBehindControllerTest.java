@@ -0,0 +1,94 @@
+package com.ritesh.testing.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ritesh.testing.exception.WriteQueueFullException;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.WriteTicket;
+import com.ritesh.testing.service.EmployeeWriteBehindService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(
+    controllers = EmployeeWriteBehindController.class,
+    properties = "app.write-behind.enabled=true")
+public class EmployeeWriteBehindControllerTest {
+
+  Employee employee;
+  @Autowired private ObjectMapper objectMapper;
+  @Autowired private MockMvc mockMvc;
+  @MockBean private EmployeeWriteBehindService employeeWriteBehindService;
+
+  @BeforeEach
+  public void setup() {
+    employee =
+        Employee.builder()
+            .firstName("Ritesh")
+            .lastName("Singh")
+            .email("riteshsingh893@gmail.com")
+            .build();
+  }
+
+  // Junit test for write-behind createEmployee Rest Api
+  @DisplayName("Queued create employee Rest Api returns a ticket")
+  @Test
+  void givenEmployeeObject_whenCreateEmployee_thenReturnAcceptedTicket() throws Exception {
+    // given - precondition or setup
+    given(employeeWriteBehindService.submitCreate(any(Employee.class)))
+        .willReturn(
+            WriteTicket.builder().token("abc").status(WriteTicket.Status.PENDING).build());
+
+    // when - action or the behavior that we are going to test
+    ResultActions response =
+        mockMvc.perform(
+            post("/api/employee/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+    // then - verify the output
+    response
+        .andDo(print())
+        .andExpect(status().isAccepted())
+        .andExpect(header().string(HttpHeaders.LOCATION, "/api/employee/async/abc"))
+        .andExpect(jsonPath("$.status", is("PENDING")));
+  }
+
+  // Negative scenario
+  // Junit test for write-behind createEmployee Rest Api with a full queue
+  @DisplayName("Queued create employee Rest Api with a full queue")
+  @Test
+  void givenFullQueue_whenCreateEmployee_thenReturnTooManyRequests() throws Exception {
+    // given - precondition or setup
+    given(employeeWriteBehindService.submitCreate(any(Employee.class)))
+        .willThrow(new WriteQueueFullException("Write queue is full, retry later"));
+
+    // when - action or the behavior that we are going to test
+    ResultActions response =
+        mockMvc.perform(
+            post("/api/employee/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(employee)));
+
+    // then - verify the output
+    response
+        .andDo(print())
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+  }
+}
@@ -0,0 +1,128 @@
+package com.ritesh.testing.datasource;
+
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.repository.EmployeeRepository;
+import com.ritesh.testing.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// two in-memory H2 databases stand in for the primary and a replica that has not caught up:
+// Hibernate creates the schema on the primary only, so the replica's employee table holds only
+// the rows a test puts there
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:jpa-routing-primary;DB_CLOSE_DELAY=-1",
+      "spring.datasource.username=sa",
+      "spring.datasource.password=",
+      "app.datasource.replica.jdbc-url=jdbc:h2:mem:jpa-routing-replica;DB_CLOSE_DELAY=-1;"
+          + "INIT=create table if not exists employee (id int primary key,"
+          + " first_name varchar(255), last_name varchar(255), email varchar(255),"
+          + " version int, updated_at timestamp)",
+      "app.datasource.replica.username=sa",
+      "app.datasource.replica.password="
+    })
+@AutoConfigureMockMvc
+@Import(ReadReplicaJpaRoutingTests.RoutingProbeController.class)
+public class ReadReplicaJpaRoutingTests {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private EmployeeService employeeService;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired @Qualifier("replicaDataSource") private DataSource replicaDataSource;
+
+  private JdbcTemplate replica;
+  private Employee employee;
+
+  @BeforeEach
+  void setup() {
+    replica = new JdbcTemplate(replicaDataSource);
+    replica.update("delete from employee");
+    employeeRepository.deleteAll();
+    employee =
+        employeeRepository.save(
+            Employee.builder()
+                .firstName("Ritesh")
+                .lastName("Singh")
+                .email("riteshsingh893@gmail.com")
+                .build());
+  }
+
+  // JUnit test for routing each JPA transaction of one web request on its own
+  @DisplayName("A primary read after a replica read in one request goes to the primary")
+  @Test
+  void givenReplicaReadInRequest_whenPrimaryReadFollows_thenPrimaryAnswers() throws Exception {
+    // when - action or the behavior that we are going to test
+    ResultActions response = mockMvc.perform(get("/test/routing/{id}", employee.getId()));
+
+    // then - verify the output
+    response
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.replicaRows", is(0)))
+        .andExpect(jsonPath("$.foundOnPrimary", is(true)));
+  }
+
+  // JUnit test for keeping replica rows out of the second-level cache
+  @DisplayName("A row read from the replica is not put into the second-level cache")
+  @Test
+  void givenLaggingReplicaRow_whenReadOnReplica_thenRowNotCached() {
+    // given - precondition or setup
+    replica.update(
+        "insert into employee (id, first_name, last_name, email, version, updated_at)"
+            + " values (?, 'Ram', 'Singh', ?, 0, current_timestamp)",
+        employee.getId(),
+        employee.getEmail());
+    entityManagerFactory.getCache().evictAll();
+
+    // when - action or the behavior that we are going to test
+    List<Employee> replicaRows = employeeService.getEmployees(null, null).getContent();
+
+    // then - verify the output
+    assertThat(replicaRows).extracting(Employee::getFirstName).containsExactly("Ram");
+    assertThat(entityManagerFactory.getCache().contains(Employee.class, employee.getId()))
+        .isFalse();
+  }
+
+  // a read-only transaction on the replica followed by a lookup that must read the primary
+  @RestController
+  static class RoutingProbeController {
+
+    private final EmployeeService employeeService;
+
+    RoutingProbeController(EmployeeService employeeService) {
+      this.employeeService = employeeService;
+    }
+
+    @GetMapping("/test/routing/{id}")
+    public Map<String, Object> probe(@PathVariable("id") Integer id) {
+      int replicaRows = employeeService.getEmployees(null, null).getContent().size();
+      boolean foundOnPrimary = employeeService.findEmployee(id).isPresent();
+      return Map.of("replicaRows", replicaRows, "foundOnPrimary", foundOnPrimary);
+    }
+  }
+}
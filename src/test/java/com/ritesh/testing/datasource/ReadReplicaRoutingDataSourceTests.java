@@ -0,0 +1,116 @@
+package com.ritesh.testing.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.servlet.http.Cookie;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// two in-memory H2 databases stand in for the primary and the replica; each one knows its own name
+public class ReadReplicaRoutingDataSourceTests {
+
+  private DataSource primary;
+  private DataSource replica;
+
+  @BeforeEach
+  public void setup() {
+    primary = database("primary");
+    replica = database("replica");
+  }
+
+  @DisplayName("Read-only transactions read from the replica")
+  @Test
+  void givenReadOnlyTransaction_whenQuery_thenUseReplica() {
+    assertThat(whoAnswers(routing(replica), true)).isEqualTo("replica");
+  }
+
+  @DisplayName("Read-write transactions use the primary")
+  @Test
+  void givenReadWriteTransaction_whenQuery_thenUsePrimary() {
+    assertThat(whoAnswers(routing(replica), false)).isEqualTo("primary");
+  }
+
+  @DisplayName("Reads fall back to the primary while the replica is down")
+  @Test
+  void givenReplicaDown_whenReadOnlyQuery_thenUsePrimary() {
+    DataSource brokenReplica =
+        new DriverManagerDataSource() {
+          @Override
+          public Connection getConnection() throws SQLException {
+            throw new SQLException("replica down");
+          }
+        };
+
+    assertThat(whoAnswers(routing(brokenReplica), true)).isEqualTo("primary");
+  }
+
+  @DisplayName("A client that just wrote reads its writes from the primary")
+  @Test
+  void givenWriteInRequest_whenNextRequestReads_thenUsePrimary() throws Exception {
+    DataSource dataSource = routing(replica);
+    ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5));
+    AtomicReference<String> readAfterWrite = new AtomicReference<>();
+    MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+
+    filter.doFilter(
+        new MockHttpServletRequest(),
+        writeResponse,
+        (request, response) -> {
+          whoAnswers(dataSource, false);
+          readAfterWrite.set(whoAnswers(dataSource, true));
+        });
+    Cookie sticky = writeResponse.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+    AtomicReference<String> nextRead = new AtomicReference<>();
+    MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+    nextRequest.setCookies(sticky);
+    filter.doFilter(
+        nextRequest,
+        new MockHttpServletResponse(),
+        (request, response) -> nextRead.set(whoAnswers(dataSource, true)));
+
+    assertThat(sticky).isNotNull();
+    assertThat(sticky.getMaxAge()).isEqualTo(5);
+    assertThat(readAfterWrite.get()).isEqualTo("primary");
+    assertThat(nextRead.get()).isEqualTo("primary");
+    assertThat(whoAnswers(dataSource, true)).isEqualTo("replica");
+  }
+
+  private DataSource routing(DataSource replicaDataSource) {
+    return new LazyConnectionDataSourceProxy(
+        new ReadReplicaRoutingDataSource(primary, replicaDataSource, Duration.ofSeconds(30)));
+  }
+
+  private static String whoAnswers(DataSource dataSource, boolean readOnly) {
+    TransactionTemplate transactionTemplate =
+        new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    transactionTemplate.setReadOnly(readOnly);
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    return transactionTemplate.execute(
+        status -> jdbcTemplate.queryForObject("select name from node", String.class));
+  }
+
+  private static DataSource database(String name) {
+    DataSource dataSource =
+        new DriverManagerDataSource(
+            "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+    JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+    jdbcTemplate.execute("create table node (name varchar(16))");
+    jdbcTemplate.update("insert into node values (?)", name);
+    return dataSource;
+  }
+}
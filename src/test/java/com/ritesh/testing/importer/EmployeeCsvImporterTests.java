@@ -0,0 +1,132 @@
+package com.ritesh.testing.importer;
+
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeImportReport;
+import com.ritesh.testing.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "app.import.batch-size=2")
+@AutoConfigureTestDatabase
+public class EmployeeCsvImporterTests {
+
+  @Autowired private EmployeeCsvImporter employeeCsvImporter;
+  @Autowired private EmployeeRepository employeeRepository;
+
+  @TempDir Path directory;
+
+  @BeforeEach
+  void setup() {
+    employeeRepository.deleteAll();
+  }
+
+  // JUnit test for reading quoted fields across memory-mapped window boundaries
+  @DisplayName("CSV records are read across mapping windows")
+  @Test
+  void givenSmallWindows_whenNext_thenRecordsSpanningWindowsAreParsed() throws Exception {
+    // given - precondition or setup
+    Path file =
+        write(
+            "first_name,last_name,email\r\n",
+            "\"Smith, Jr.\",\"O\"\"Brien\",jr@example.com\r\n",
+            "\n",
+            "Ramesh,Fadatare,ramesh@example.com");
+
+    // when - action or the behavior that we are going to test
+    List<String> header;
+    List<String> first;
+    List<String> second;
+    int secondLine;
+    try (EmployeeCsvReader reader = new EmployeeCsvReader(file, 7)) {
+      header = reader.next();
+      first = reader.next();
+      second = reader.next();
+      secondLine = reader.lineNumber();
+      assertThat(reader.next()).isNull();
+    }
+
+    // then - verify the output
+    assertThat(header).containsExactly("first_name", "last_name", "email");
+    assertThat(first).containsExactly("Smith, Jr.", "O\"Brien", "jr@example.com");
+    assertThat(second).containsExactly("Ramesh", "Fadatare", "ramesh@example.com");
+    assertThat(secondLine).isEqualTo(4);
+  }
+
+  // JUnit test for importing valid rows and reporting rejected ones by line
+  @DisplayName("Valid rows are imported and invalid rows reported by line")
+  @Test
+  void givenMixedRows_whenImportFile_thenValidRowsSavedAndErrorsReported() throws Exception {
+    // given - precondition or setup
+    employeeRepository.save(
+        Employee.builder().firstName("Tony").lastName("Stark").email("tony@example.com").build());
+    Path file =
+        write(
+            "email,first_name,last_name\n",
+            "ramesh@example.com,Ramesh,Fadatare\n",
+            "not-an-email,John,Cena\n",
+            "tony@example.com,Tony,Stark\n",
+            "john@example.com,John,Cena\n",
+            "RAMESH@example.com,Ramesh,Again\n",
+            ",Missing,Email\n");
+
+    // when - action or the behavior that we are going to test
+    EmployeeImportReport report = employeeCsvImporter.importFile(file, 16);
+
+    // then - verify the output
+    assertThat(report.getRowsRead()).isEqualTo(6);
+    assertThat(report.getRowsImported()).isEqualTo(2);
+    assertThat(report.getRowsRejected()).isEqualTo(4);
+    assertThat(report.getErrors())
+        .extracting(EmployeeImportReport.RowError::getLine)
+        .containsExactly(3, 4, 6, 7);
+    assertThat(employeeRepository.findAll())
+        .extracting(Employee::getEmail, Employee::getLastName)
+        .containsExactlyInAnyOrder(
+            tuple("tony@example.com", "Stark"),
+            tuple("ramesh@example.com", "Fadatare"),
+            tuple("john@example.com", "Cena"));
+  }
+
+  // JUnit test for importing a file that starts with a UTF-8 byte order mark
+  @DisplayName("A leading byte order mark does not break the header")
+  @Test
+  void givenByteOrderMark_whenImportFile_thenHeaderIsRecognized() throws Exception {
+    // given - precondition or setup
+    Path file =
+        write(
+            "\uFEFFfirst_name,last_name,email\r\n",
+            "Ramesh,Fadatare,ramesh@example.com\r\n");
+
+    // when - action or the behavior that we are going to test
+    List<String> header;
+    try (EmployeeCsvReader reader = new EmployeeCsvReader(file, 2)) {
+      header = reader.next();
+    }
+    EmployeeImportReport report = employeeCsvImporter.importFile(file, 16);
+
+    // then - verify the output
+    assertThat(header).containsExactly("first_name", "last_name", "email");
+    assertThat(report.getRowsImported()).isEqualTo(1);
+    assertThat(employeeRepository.findAll())
+        .extracting(Employee::getFirstName)
+        .containsExactly("Ramesh");
+  }
+
+  private Path write(String... lines) throws Exception {
+    Path file = directory.resolve("employees.csv");
+    Files.writeString(file, String.join("", lines));
+    return file;
+  }
+}
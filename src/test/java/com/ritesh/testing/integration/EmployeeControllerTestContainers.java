@@ -91,6 +91,6 @@ public class EmployeeControllerTestContainers extends AbstractionContainerBaseTe
     response
         .andDo(print())
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.size()", equalTo(employeeList.size())));
+        .andExpect(jsonPath("$.content.size()", equalTo(employeeList.size())));
   }
 }
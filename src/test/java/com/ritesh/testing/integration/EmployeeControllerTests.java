@@ -9,12 +9,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -28,6 +36,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class EmployeeControllerTests {
 
   Employee employee;
+  @LocalServerPort private int port;
   @Autowired private MockMvc mockMvc;
   @Autowired private EmployeeRepository employeeRepository;
   @Autowired private ObjectMapper objectMapper;
@@ -90,6 +99,40 @@ public class EmployeeControllerTests {
     response
         .andDo(print())
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.size()", equalTo(employeeList.size())));
+        .andExpect(jsonPath("$.content.size()", equalTo(employeeList.size())));
+  }
+
+  // JUnit test for gzip compression of getAllEmployees Rest Api
+  @DisplayName("GetAllEmployees Rest Api is gzip compressed")
+  @Test
+  void givenLargePage_whenGetAllEmployeesAcceptingGzip_thenResponseIsCompressed()
+      throws Exception {
+
+    // given - precondition or setup
+    List<Employee> employeeList = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      employeeList.add(
+          Employee.builder()
+              .firstName("Ritesh" + i)
+              .lastName("Singh")
+              .email("riteshsingh" + i + "@gmail.com")
+              .build());
+    }
+    employeeRepository.saveAll(employeeList);
+
+    // when - action or the behavior that we are going to test
+    // compression happens in Tomcat, so the request goes over the wire rather than through MockMvc
+    HttpResponse<byte[]> response =
+        HttpClient.newHttpClient()
+            .send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/employee"))
+                    .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                    .build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+    // then - verify the output
+    assertThat(response.statusCode()).isEqualTo(200);
+    assertThat(response.headers().firstValue(HttpHeaders.CONTENT_ENCODING)).hasValue("gzip");
+    assertThat(response.headers().firstValue(HttpHeaders.ETAG)).get().asString().startsWith("W/");
   }
 }
@@ -0,0 +1,183 @@
+package com.ritesh.testing.integration;
+
+import com.ritesh.testing.UnitTestingApplication;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.service.EmployeeService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with ./gradlew loadTest; excluded from the regular test task.
+@Tag("load")
+public class ThreadModeLoadTests {
+
+  private static final Logger log = LoggerFactory.getLogger(ThreadModeLoadTests.class);
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  private static final int EMPLOYEES = 1_000;
+  private static final int CLIENTS = 400;
+  private static final int REQUESTS_PER_CLIENT = 25;
+  private static final int TOMCAT_MAX_THREADS = 50;
+
+  // JUnit load test comparing platform and virtual thread request handling
+  @DisplayName("Platform vs virtual thread request handling under load")
+  @Test
+  void givenBothThreadModes_whenUnderConcurrentLoad_thenReportThroughputAndLatency()
+      throws Exception {
+    // when - action or the behavior that we are going to test
+    LoadResult platform = run(false);
+    LoadResult virtual = run(true);
+
+    // then - verify the output
+    log.info("{}", platform);
+    log.info("{}", virtual);
+    assertThat(platform.errors()).as("%s", platform).isZero();
+    assertThat(virtual.errors()).as("%s", virtual).isZero();
+    // a request thread that blocks while pinned holds its carrier, the cost virtual threads avoid
+    assertThat(virtual.pinnedAt()).as("virtual threads pinned at").isEmpty();
+  }
+
+  private LoadResult run(boolean virtualThreads) throws Exception {
+    String mode = virtualThreads ? "virtual" : "platform";
+    try (ConfigurableApplicationContext context =
+        new SpringApplicationBuilder(UnitTestingApplication.class)
+            .properties(
+                "server.port=0",
+                "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                "spring.datasource.url=jdbc:h2:mem:load-" + mode + ";DB_CLOSE_DELAY=-1",
+                "spring.datasource.username=sa",
+                "spring.datasource.password=",
+                "spring.jpa.show-sql=false",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "app.threads.virtual.enabled=" + virtualThreads)
+            .run()) {
+      List<Employee> employees = new ArrayList<>();
+      for (int i = 0; i < EMPLOYEES; i++) {
+        employees.add(
+            Employee.builder()
+                .firstName("First" + i)
+                .lastName("Last" + i)
+                .email("load" + i + "@example.com")
+                .build());
+      }
+      context.getBean(EmployeeService.class).saveEmployees(employees);
+      int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+      return drive(mode, port);
+    }
+  }
+
+  private LoadResult drive(String mode, int port) throws InterruptedException {
+    // the clients run on platform threads, so every pinned virtual thread is a request thread
+    Set<String> pinnedAt = ConcurrentHashMap.newKeySet();
+    try (RecordingStream pinning = new RecordingStream()) {
+      pinning.enable(PINNED_EVENT).withStackTrace();
+      pinning.onEvent(PINNED_EVENT, event -> pinnedAt.add(topFrame(event)));
+      pinning.startAsync();
+      LoadResult result = drive(mode, port, pinnedAt);
+      // flushes the events still buffered
+      pinning.stop();
+      return result;
+    }
+  }
+
+  private LoadResult drive(String mode, int port, Set<String> pinnedAt)
+      throws InterruptedException {
+    HttpClient client = HttpClient.newHttpClient();
+    long[] latencies = new long[CLIENTS * REQUESTS_PER_CLIENT];
+    AtomicInteger completed = new AtomicInteger();
+    AtomicInteger errors = new AtomicInteger();
+    long start = System.nanoTime();
+    try (ExecutorService clients = Executors.newFixedThreadPool(CLIENTS)) {
+      for (int c = 0; c < CLIENTS; c++) {
+        clients.submit(
+            () -> {
+              for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                int after = ThreadLocalRandom.current().nextInt(EMPLOYEES);
+                HttpRequest request =
+                    HttpRequest.newBuilder(
+                            URI.create(
+                                "http://localhost:" + port + "/api/employee?limit=20&after=" + after))
+                        .build();
+                long sent = System.nanoTime();
+                try {
+                  HttpResponse<Void> response =
+                      client.send(request, HttpResponse.BodyHandlers.discarding());
+                  if (response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                  }
+                } catch (Exception e) {
+                  errors.incrementAndGet();
+                }
+                latencies[completed.getAndIncrement()] = System.nanoTime() - sent;
+              }
+            });
+      }
+    }
+    double seconds = (System.nanoTime() - start) / 1e9;
+    Arrays.sort(latencies);
+    return new LoadResult(
+        mode,
+        latencies.length / seconds,
+        TimeUnit.NANOSECONDS.toMillis(latencies[latencies.length / 2]),
+        TimeUnit.NANOSECONDS.toMillis(latencies[(int) (latencies.length * 0.99)]),
+        errors.get(),
+        pinnedAt);
+  }
+
+  // the first frame outside the JDK names the code that blocked while pinned
+  private static String topFrame(RecordedEvent event) {
+    if (event.getStackTrace() == null) {
+      return "unknown";
+    }
+    for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+      String type = frame.getMethod().getType().getName();
+      if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+        return type + "." + frame.getMethod().getName();
+      }
+    }
+    return "unknown";
+  }
+
+  private record LoadResult(
+      String mode,
+      double requestsPerSecond,
+      long p50Millis,
+      long p99Millis,
+      int errors,
+      Set<String> pinnedAt) {
+
+    @Override
+    public String toString() {
+      return String.format(
+          "%-8s %d clients: %.0f req/s, p50 %d ms, p99 %d ms, %d errors, pinned at %s",
+          mode, CLIENTS, requestsPerSecond, p50Millis, p99Millis, errors, pinnedAt);
+    }
+  }
+}
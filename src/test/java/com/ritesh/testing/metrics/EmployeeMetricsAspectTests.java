@@ -0,0 +1,132 @@
+package com.ritesh.testing.metrics;
+
+import com.ritesh.testing.exception.ResourceNotFoundException;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.repository.EmployeeRepository;
+import com.ritesh.testing.service.EmployeeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EmployeeMetricsAspectTests {
+
+  private SimpleMeterRegistry meterRegistry;
+  private EmployeeService employeeService;
+  private EmployeeService instrumentedEmployeeService;
+
+  @BeforeEach
+  public void setup() {
+    meterRegistry = new SimpleMeterRegistry();
+    employeeService = Mockito.mock(EmployeeService.class);
+    AspectJProxyFactory proxyFactory = new AspectJProxyFactory(employeeService);
+    proxyFactory.addAspect(new EmployeeMetricsAspect(meterRegistry));
+    instrumentedEmployeeService = proxyFactory.getProxy();
+  }
+
+  // JUnit test for service timer on success
+  @DisplayName("Successful service call is timed with outcome success")
+  @Test
+  void givenSuccessfulCall_whenFindEmployeeById_thenRecordSuccessTimer() {
+    // given - precondition or setup
+    BDDMockito.given(employeeService.findEmployeeById(1)).willReturn(new Employee());
+
+    // when - action or the behavior that we are going to test
+    instrumentedEmployeeService.findEmployeeById(1);
+
+    // then - verify the output
+    assertThat(
+            meterRegistry
+                .get(EmployeeMetricsAspect.SERVICE_TIMER)
+                .tag("operation", "findEmployeeById")
+                .tag("outcome", "success")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+
+  // JUnit test for service timer and error counter on failure
+  @DisplayName("Failing service call is timed with outcome error and counted")
+  @Test
+  void givenFailingCall_whenFindEmployeeById_thenRecordErrorTimerAndCounter() {
+    // given - precondition or setup
+    BDDMockito.given(employeeService.findEmployeeById(1))
+        .willThrow(new ResourceNotFoundException("Employee not found with id :: 1"));
+
+    // when - action or the behavior that we are going to test
+    assertThrows(
+        ResourceNotFoundException.class, () -> instrumentedEmployeeService.findEmployeeById(1));
+
+    // then - verify the output
+    assertThat(
+            meterRegistry
+                .get(EmployeeMetricsAspect.SERVICE_TIMER)
+                .tag("operation", "findEmployeeById")
+                .tag("outcome", "error")
+                .timer()
+                .count())
+        .isEqualTo(1);
+    assertThat(
+            meterRegistry
+                .get(EmployeeMetricsAspect.SERVICE_TIMER + ".errors")
+                .tag("exception", "ResourceNotFoundException")
+                .counter()
+                .count())
+        .isEqualTo(1);
+  }
+
+  // JUnit test for overloaded service methods
+  @DisplayName("Overloaded service methods are timed under separate operations")
+  @Test
+  void givenOverloads_whenDeleteEmployee_thenRecordOneTimerPerOverload() {
+    // when - action or the behavior that we are going to test
+    instrumentedEmployeeService.deleteEmployee(1);
+    instrumentedEmployeeService.deleteEmployee(1, 0);
+
+    // then - verify the output
+    for (String operation :
+        new String[] {"deleteEmployee(Integer)", "deleteEmployee(Integer,Integer)"}) {
+      assertThat(
+              meterRegistry
+                  .get(EmployeeMetricsAspect.SERVICE_TIMER)
+                  .tag("operation", operation)
+                  .tag("outcome", "success")
+                  .timer()
+                  .count())
+          .isEqualTo(1);
+    }
+  }
+
+  // JUnit test for repository timer
+  @DisplayName("Repository call is timed under the repository timer")
+  @Test
+  void givenRepositoryCall_whenFindById_thenRecordRepositoryTimer() {
+    // given - precondition or setup
+    EmployeeRepository employeeRepository = Mockito.mock(EmployeeRepository.class);
+    BDDMockito.given(employeeRepository.findById(1)).willReturn(Optional.empty());
+    AspectJProxyFactory proxyFactory = new AspectJProxyFactory(employeeRepository);
+    proxyFactory.addAspect(new EmployeeMetricsAspect(meterRegistry));
+    EmployeeRepository instrumentedEmployeeRepository = proxyFactory.getProxy();
+
+    // when - action or the behavior that we are going to test
+    instrumentedEmployeeRepository.findById(1);
+
+    // then - verify the output
+    assertThat(
+            meterRegistry
+                .get(EmployeeMetricsAspect.REPOSITORY_TIMER)
+                .tag("operation", "findById")
+                .tag("outcome", "success")
+                .timer()
+                .count())
+        .isEqualTo(1);
+  }
+}
@@ -0,0 +1,115 @@
+package com.ritesh.testing.outbox;
+
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeChange;
+import com.ritesh.testing.repository.EmployeeRepository;
+import com.ritesh.testing.service.EmployeeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"app.outbox.poll-interval=20ms", "app.outbox.batch-size=2"})
+@AutoConfigureTestDatabase
+public class EmployeeChangeFeedTests {
+
+  @Autowired private EmployeeService employeeService;
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private EmployeeChangeFeed employeeChangeFeed;
+
+  @BeforeEach
+  void setup() {
+    employeeRepository.deleteAll();
+  }
+
+  // JUnit test for fan out of one outbox read to every subscriber
+  @DisplayName("Every subscriber receives a committed change")
+  @Test
+  void givenTwoSubscribers_whenSaveEmployee_thenBothReceiveCreatedChange() throws Exception {
+    // given - precondition or setup
+    BlockingQueue<EmployeeChange> first = new LinkedBlockingQueue<>();
+    BlockingQueue<EmployeeChange> second = new LinkedBlockingQueue<>();
+    EmployeeChangeFeed.Subscription firstSubscription =
+        employeeChangeFeed.subscribe(null, collectingInto(first));
+    EmployeeChangeFeed.Subscription secondSubscription =
+        employeeChangeFeed.subscribe(null, collectingInto(second));
+
+    // when - action or the behavior that we are going to test
+    Employee employee = employeeService.saveEmployee(newEmployee("feed@example.com"));
+
+    // then - verify the output
+    for (BlockingQueue<EmployeeChange> changes : List.of(first, second)) {
+      EmployeeChange change = nextChangeOf(changes, employee.getId());
+      assertThat(change.getType()).isEqualTo(EmployeeChange.Type.CREATED);
+      assertThat(change.getEmail()).isEqualTo("feed@example.com");
+    }
+    firstSubscription.cancel();
+    secondSubscription.cancel();
+  }
+
+  // JUnit test for resuming the feed from an offset
+  @DisplayName("Subscriber resuming from an offset receives every later change in order")
+  @Test
+  void givenOffset_whenSubscribe_thenReplayChangesAfterOffset() throws Exception {
+    // given - precondition or setup
+    long offset = employeeChangeFeed.offset();
+    Employee employee = employeeService.saveEmployee(newEmployee("resume@example.com"));
+    employee.setFirstName("Renamed");
+    employeeService.updateEmployee(employee);
+    employeeService.deleteEmployee(employee.getId());
+
+    // when - action or the behavior that we are going to test
+    BlockingQueue<EmployeeChange> changes = new LinkedBlockingQueue<>();
+    EmployeeChangeFeed.Subscription subscription =
+        employeeChangeFeed.subscribe(offset, collectingInto(changes));
+
+    // then - verify the output
+    List<EmployeeChange.Type> types = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      types.add(nextChangeOf(changes, employee.getId()).getType());
+    }
+    assertThat(types)
+        .containsExactly(
+            EmployeeChange.Type.CREATED, EmployeeChange.Type.UPDATED, EmployeeChange.Type.DELETED);
+    subscription.cancel();
+  }
+
+  // changes made by other tests may still be in flight when a subscription starts
+  private static EmployeeChange nextChangeOf(BlockingQueue<EmployeeChange> changes, Integer id)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (System.nanoTime() < deadline) {
+      EmployeeChange change = changes.poll(100, TimeUnit.MILLISECONDS);
+      if (change != null && id.equals(change.getEmployeeId())) {
+        return change;
+      }
+    }
+    throw new AssertionError("No change received for employee " + id);
+  }
+
+  private static EmployeeChangeFeed.Listener collectingInto(BlockingQueue<EmployeeChange> queue) {
+    return new EmployeeChangeFeed.Listener() {
+      @Override
+      public void onChanges(List<EmployeeChange> changes) {
+        queue.addAll(changes);
+      }
+
+      @Override
+      public void onIdle() {}
+    };
+  }
+
+  private static Employee newEmployee(String email) {
+    return Employee.builder().firstName("Ritesh").lastName("Singh").email(email).build();
+  }
+}
@@ -0,0 +1,129 @@
+package com.ritesh.testing.repository;
+
+import com.ritesh.testing.model.Employee;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// every repository call below runs in its own transaction and session, so only the second-level and
+// query caches can save a round trip
+@SpringBootTest
+@AutoConfigureTestDatabase
+public class EmployeeRepositoryCacheTests {
+
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  private Statistics statistics;
+  private Employee employee;
+
+  @BeforeEach
+  void setup() {
+    employeeRepository.deleteAll();
+    employee =
+        employeeRepository.save(
+            Employee.builder()
+                .firstName("Ritesh")
+                .lastName("Singh")
+                .email("riteshsingh893@gmail.com")
+                .build());
+    entityManagerFactory.getCache().evictAll();
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  // JUnit test for serving findById from the entity cache
+  @DisplayName("findById is served from the entity cache after the first load")
+  @Test
+  void givenLoadedEmployee_whenFindByIdAgain_thenNoStatement() {
+    // given - precondition or setup
+    employeeRepository.findById(employee.getId());
+    long statements = statistics.getPrepareStatementCount();
+
+    // when - action or the behavior that we are going to test
+    employeeRepository.findById(employee.getId());
+
+    // then - verify the output
+    assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(statements);
+  }
+
+  // JUnit test for serving findByFirstNameAndLastName from the query cache
+  @DisplayName("findByFirstNameAndLastName is served from the query cache")
+  @Test
+  void givenRepeatedNameLookup_whenFindByFirstNameAndLastName_thenQueryCacheHit() {
+    // given - precondition or setup
+    employeeRepository.findByFirstNameAndLastName("Ritesh", "Singh");
+
+    // when - action or the behavior that we are going to test
+    employeeRepository.findByFirstNameAndLastName("Ritesh", "Singh");
+
+    // then - verify the output
+    assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+  }
+
+  // JUnit test for invalidating cached native lookups on update
+  @DisplayName("cached native name lookups are invalidated by an update")
+  @Test
+  void givenCachedNativeLookup_whenEmployeeRenamed_thenLookupMisses() {
+    // given - precondition or setup
+    employeeRepository.findByFirstNameAndLastNameWithNativeQuery("Ritesh", "Singh");
+    employeeRepository.findByFirstNameAndLastNameWithNativeQuery("Ritesh", "Singh");
+    assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+
+    // when - action or the behavior that we are going to test
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status ->
+                employeeRepository
+                    .findForUpdateById(employee.getId())
+                    .orElseThrow()
+                    .setFirstName("Ram"));
+
+    // then - verify the output
+    assertThat(employeeRepository.findByFirstNameAndLastNameWithNativeQuery("Ritesh", "Singh"))
+        .isNull();
+    assertThat(employeeRepository.findByFirstNameAndLastNameWithNativeQuery("Ram", "Singh"))
+        .isNotNull();
+    assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+  }
+
+  // JUnit test for evicting only the updated employee from the entity cache
+  @DisplayName("updating one employee leaves the other cached employees in place")
+  @Test
+  void givenTwoCachedEmployees_whenOneUpdated_thenOtherStillCached() {
+    // given - precondition or setup
+    Employee other =
+        employeeRepository.save(
+            Employee.builder().firstName("John").lastName("Cena").email("cena@gmail.com").build());
+    employeeRepository.findById(employee.getId());
+    employeeRepository.findById(other.getId());
+
+    // when - action or the behavior that we are going to test
+    new TransactionTemplate(transactionManager)
+        .executeWithoutResult(
+            status ->
+                employeeRepository.findById(employee.getId()).orElseThrow().setFirstName("Ram"));
+
+    // then - verify the output
+    statistics.clear();
+    employeeRepository.findById(other.getId());
+    assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    assertThat(employeeRepository.findById(employee.getId()))
+        .get()
+        .extracting(Employee::getFirstName, Employee::getVersion)
+        .containsExactly("Ram", 1);
+  }
+}
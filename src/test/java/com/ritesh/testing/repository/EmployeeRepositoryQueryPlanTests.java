@@ -0,0 +1,180 @@
+package com.ritesh.testing.repository;
+
+import com.ritesh.testing.integration.AbstractionContainerBaseTest;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeSearch;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs every EmployeeRepository query against MySQL, captures the SQL Hibernate generated for it and
+// fails when EXPLAIN reports a full table scan (access type ALL). streamAll is left out on purpose:
+// a full export reads the whole table by definition.
+@DataJpaTest(
+    properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+            + "com.ritesh.testing.repository.EmployeeRepositoryQueryPlanTests$CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+public class EmployeeRepositoryQueryPlanTests extends AbstractionContainerBaseTest {
+
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private TestEntityManager testEntityManager;
+  @Autowired private DataSource dataSource;
+
+  private Employee employee;
+
+  @BeforeEach
+  void setup() {
+    List<Employee> employees = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      employees.add(
+          Employee.builder()
+              .firstName("First" + i)
+              .lastName("Last" + i)
+              .email("plan" + i + "@example.com")
+              .build());
+    }
+    employeeRepository.saveAll(employees);
+    employee = employees.get(100);
+    testEntityManager.flush();
+    testEntityManager.clear();
+    CapturingStatementInspector.STATEMENTS.clear();
+  }
+
+  @DisplayName("findById uses the primary key")
+  @Test
+  void givenId_whenFindById_thenNoFullScan() {
+    employeeRepository.findById(employee.getId());
+    assertNoFullScan(employee.getId());
+  }
+
+  @DisplayName("findByEmail uses the email index")
+  @Test
+  void givenEmail_whenFindByEmail_thenNoFullScan() {
+    employeeRepository.findByEmail(employee.getEmail());
+    assertNoFullScan(employee.getEmail());
+  }
+
+  @DisplayName("findExistingEmails uses the email index")
+  @Test
+  void givenEmails_whenFindExistingEmails_thenNoFullScan() {
+    employeeRepository.findExistingEmails(List.of(employee.getEmail(), "missing@example.com"));
+    assertNoFullScan(employee.getEmail(), "missing@example.com");
+  }
+
+  @DisplayName("findByIdGreaterThanOrderByIdAsc uses the primary key")
+  @Test
+  void givenCursor_whenFindByIdGreaterThan_thenNoFullScan() {
+    employeeRepository.findByIdGreaterThanOrderByIdAsc(employee.getId(), PageRequest.of(0, 10));
+    assertNoFullScan(employee.getId(), 10);
+  }
+
+  @DisplayName("findByFirstNameAndLastName uses the name index")
+  @Test
+  void givenName_whenFindByFirstNameAndLastName_thenNoFullScan() {
+    employeeRepository.findByFirstNameAndLastName(employee.getFirstName(), employee.getLastName());
+    assertNoFullScan(employee.getFirstName(), employee.getLastName());
+  }
+
+  @DisplayName("findByCustomQueryWithNamedParams uses the name index")
+  @Test
+  void givenName_whenFindByCustomQueryWithNamedParams_thenNoFullScan() {
+    employeeRepository.findByCustomQueryWithNamedParams(
+        employee.getFirstName(), employee.getLastName());
+    assertNoFullScan(employee.getFirstName(), employee.getLastName());
+  }
+
+  @DisplayName("findByFirstNameAndLastNameWithNativeQuery uses the name index")
+  @Test
+  void givenName_whenFindByNativeQuery_thenNoFullScan() {
+    employeeRepository.findByFirstNameAndLastNameWithNativeQuery(
+        employee.getFirstName(), employee.getLastName());
+    assertNoFullScan(employee.getFirstName(), employee.getLastName());
+  }
+
+  @DisplayName("findByFirstNameAndLastNameWithNativeQueryParams uses the name index")
+  @Test
+  void givenName_whenFindByNativeQueryParams_thenNoFullScan() {
+    employeeRepository.findByFirstNameAndLastNameWithNativeQueryParams(
+        employee.getFirstName(), employee.getLastName());
+    assertNoFullScan(employee.getFirstName(), employee.getLastName());
+  }
+
+  @DisplayName("findForUpdateById uses the primary key")
+  @Test
+  void givenId_whenFindForUpdateById_thenNoFullScan() {
+    employeeRepository.findForUpdateById(employee.getId());
+    assertNoFullScan(employee.getId());
+  }
+
+  @DisplayName("findChangedSince uses the updated_at index")
+  @Test
+  void givenWatermark_whenFindChangedSince_thenNoFullScan() {
+    Timestamp since = Timestamp.from(employee.getUpdatedAt());
+    Timestamp until = Timestamp.from(Instant.now());
+    employeeRepository.findChangedSince(
+        employee.getUpdatedAt(), employee.getId(), until.toInstant(), PageRequest.of(0, 10));
+    assertNoFullScan(since, since, employee.getId(), until, 10);
+  }
+
+  @DisplayName("search by last name uses the last name index")
+  @Test
+  void givenLastName_whenSearch_thenNoFullScan() {
+    employeeRepository.search(
+        EmployeeSpecifications.matching(
+            EmployeeSearch.builder().lastName(employee.getLastName()).build()),
+        10);
+    assertNoFullScan(employee.getLastName(), 10);
+  }
+
+  @DisplayName("search by email prefix and domain uses the email index")
+  @Test
+  void givenEmailPrefixAndDomain_whenSearch_thenNoFullScan() {
+    employeeRepository.search(
+        EmployeeSpecifications.matching(
+            EmployeeSearch.builder().email("plan10*").emailDomain("example.com").build()),
+        10);
+    // criteria binds the escape character as a parameter as well
+    assertNoFullScan("plan10%", "!", "%@example.com", "!", 10);
+  }
+
+  // arguments are the bind values of the captured statement, in the order they appear in the SQL
+  private void assertNoFullScan(Object... args) {
+    assertThat(CapturingStatementInspector.STATEMENTS).isNotEmpty();
+    String sql =
+        CapturingStatementInspector.STATEMENTS.get(CapturingStatementInspector.STATEMENTS.size() - 1);
+    List<Map<String, Object>> plan = new JdbcTemplate(dataSource).queryForList("explain " + sql, args);
+    assertThat(plan)
+        .as("query plan of %s", sql)
+        .isNotEmpty()
+        .allSatisfy(row -> assertThat(row.get("type")).as("access type").isNotEqualTo("ALL"));
+  }
+
+  public static class CapturingStatementInspector implements StatementInspector {
+
+    static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+      STATEMENTS.add(sql);
+      return sql;
+    }
+  }
+}
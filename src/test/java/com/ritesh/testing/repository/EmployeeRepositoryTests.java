@@ -1,20 +1,29 @@
 package com.ritesh.testing.repository;
 
+import com.ritesh.testing.exception.BadRequestException;
 import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeSearch;
+import org.hibernate.Session;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @DataJpaTest
 public class EmployeeRepositoryTests {
 
   @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private TestEntityManager entityManager;
 
   private Employee employee;
 
@@ -61,6 +70,27 @@ public class EmployeeRepositoryTests {
     assertThat(employees).isNotNull().hasSize(2);
   }
 
+  // Junit test for keyset page operation
+  @DisplayName("Get employees after id operation")
+  @Test
+  void givenEmployeeList_whenFindByIdGreaterThan_thenReturnNextEmployees() {
+    // given - precondition or setup
+    Employee employee1 =
+        Employee.builder()
+            .firstName("Deep")
+            .lastName("Singh")
+            .email("deep.singh@gmail.com")
+            .build();
+    employeeRepository.save(employee1);
+
+    // when - action or the behavior that we are going to test
+    List<Employee> employees =
+        employeeRepository.findByIdGreaterThanOrderByIdAsc(employee.getId(), PageRequest.of(0, 10));
+
+    // then - verify the output
+    assertThat(employees).extracting(Employee::getId).containsExactly(employee1.getId());
+  }
+
   // Junit test for employee by id operation
   @DisplayName("Get employee by id operation")
   @Test
@@ -81,6 +111,73 @@ public class EmployeeRepositoryTests {
     assertThat(employeeDb).isNotNull();
   }
 
+  // JUnit test for existing emails operation
+  @DisplayName("Get existing emails out of a batch")
+  @Test
+  void givenEmails_whenFindExistingEmails_thenReturnOnlySavedEmails() {
+    // when - action or the behavior that we are going to test
+    List<String> emails =
+        employeeRepository.findExistingEmails(List.of(employee.getEmail(), "deep.singh@gmail.com"));
+
+    // then - verify the output
+    assertThat(emails).containsExactly(employee.getEmail());
+  }
+
+  // JUnit test for column projection operation
+  @DisplayName("Find employee fields operation")
+  @Test
+  void givenFields_whenFindFieldsById_thenReturnOnlyThoseColumns() {
+    // given - precondition or setup
+    entityManager.clear();
+
+    // when - action or the behavior that we are going to test
+    Map<String, Object> row =
+        employeeRepository.findFieldsById(employee.getId(), Set.of("email")).orElseThrow();
+
+    // then - verify the output
+    assertThat(row).containsOnlyKeys("id", "email").containsEntry("email", employee.getEmail());
+    Session session = entityManager.getEntityManager().unwrap(Session.class);
+    assertThat(session.getStatistics().getEntityCount()).isZero();
+  }
+
+  // JUnit test for column projection with an unknown field
+  @DisplayName("Find employee fields with unknown field operation")
+  @Test
+  void givenUnknownField_whenFindFieldsById_thenThrowBadRequest() {
+    assertThatThrownBy(() -> employeeRepository.findFieldsById(employee.getId(), Set.of("salary")))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  // JUnit test for search operation
+  @DisplayName("Search employees by name prefix operation")
+  @Test
+  void givenNamePrefix_whenSearch_thenReturnMatchingEmployeesInIdOrder() {
+    // given - precondition or setup
+    Employee employee1 =
+        Employee.builder()
+            .firstName("Rita")
+            .lastName("Singh")
+            .email("rita.singh@gmail.com")
+            .build();
+    Employee employee2 =
+        Employee.builder()
+            .firstName("Deep")
+            .lastName("Singh")
+            .email("deep.singh@gmail.com")
+            .build();
+    employeeRepository.saveAll(List.of(employee1, employee2));
+
+    // when - action or the behavior that we are going to test
+    List<Employee> employees =
+        employeeRepository.search(
+            EmployeeSpecifications.matching(
+                EmployeeSearch.builder().firstName("Rit*").emailDomain("gmail.com").build()),
+            10);
+
+    // then - verify the output
+    assertThat(employees).containsExactly(employee, employee1);
+  }
+
   // JUnit test for update employee operation
   @DisplayName("Update employee operation")
   @Test
@@ -99,6 +196,27 @@ public class EmployeeRepositoryTests {
     assertThat(savedEmployee.getFirstName()).isEqualTo("Ram");
   }
 
+  // JUnit test for versioned update employee operation
+  @DisplayName("Versioned update employee operation")
+  @Test
+  void givenLockedEmployee_whenModifiedAndFlushed_thenVersionIncrements() {
+    // given - precondition or setup
+    entityManager.flush();
+    entityManager.clear();
+
+    // when - action or the behavior that we are going to test
+    Employee locked = employeeRepository.findForUpdateById(employee.getId()).orElseThrow();
+    locked.setFirstName("Ram");
+    employeeRepository.flush();
+
+    // then - verify the output
+    entityManager.clear();
+    Employee employeeDb = employeeRepository.findById(employee.getId()).orElseThrow();
+    assertThat(locked.getVersion()).isEqualTo(1);
+    assertThat(employeeDb.getFirstName()).isEqualTo("Ram");
+    assertThat(employeeDb.getVersion()).isEqualTo(1);
+  }
+
   // Junit test for delete employee operation
   @DisplayName("Delete employee operation")
   @Test
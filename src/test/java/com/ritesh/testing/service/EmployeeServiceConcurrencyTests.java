@@ -0,0 +1,102 @@
+package com.ritesh.testing.service;
+
+import com.ritesh.testing.exception.EmployeeAlreadyExistsException;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.repository.EmployeeRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+public class EmployeeServiceConcurrencyTests {
+
+  @Autowired private EmployeeService employeeService;
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @BeforeEach
+  void setup() {
+    employeeRepository.deleteAll();
+  }
+
+  // JUnit test for concurrent creates with the same email
+  @DisplayName("Concurrent save employee with same email persists one row")
+  @Test
+  void givenConcurrentCreatesWithSameEmail_whenSaveEmployee_thenOnlyOneIsPersisted()
+      throws Exception {
+    // given - precondition or setup
+    int threads = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> results = new ArrayList<>();
+    Callable<Boolean> create =
+        () -> {
+          start.await();
+          try {
+            employeeService.saveEmployee(
+                Employee.builder()
+                    .firstName("Ritesh")
+                    .lastName("Singh")
+                    .email("riteshsingh893@gmail.com")
+                    .build());
+            return true;
+          } catch (EmployeeAlreadyExistsException e) {
+            return false;
+          }
+        };
+
+    // when - action or the behavior that we are going to test
+    for (int i = 0; i < threads; i++) {
+      results.add(executor.submit(create));
+    }
+    start.countDown();
+    int created = 0;
+    for (Future<Boolean> result : results) {
+      created += result.get() ? 1 : 0;
+    }
+    executor.shutdown();
+
+    // then - verify the output
+    assertThat(created).isEqualTo(1);
+    assertThat(employeeRepository.count()).isEqualTo(1);
+  }
+
+  // JUnit test for statements issued by save employee
+  @DisplayName("Save employee issues a single insert")
+  @Test
+  void givenWarmIdPool_whenSaveEmployee_thenIssueSingleStatement() {
+    // given - precondition or setup
+    employeeService.saveEmployee(
+        Employee.builder().firstName("Deep").lastName("Singh").email("deep.singh@gmail.com").build());
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    // when - action or the behavior that we are going to test
+    employeeService.saveEmployee(
+        Employee.builder()
+            .firstName("Ritesh")
+            .lastName("Singh")
+            .email("riteshsingh893@gmail.com")
+            .build());
+
+    // then - verify the output
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+  }
+}
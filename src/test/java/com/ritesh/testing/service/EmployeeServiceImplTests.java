@@ -1,21 +1,60 @@
 package com.ritesh.testing.service;
 
+import com.ritesh.testing.cache.EmployeeCache;
+import com.ritesh.testing.cache.EmployeeSuggestIndex;
+import com.ritesh.testing.exception.ResourceConflictException;
+import com.ritesh.testing.exception.BadRequestException;
+import com.ritesh.testing.exception.EmployeeAlreadyExistsException;
 import com.ritesh.testing.exception.ResourceNotFoundException;
+import com.ritesh.testing.exception.StaleVersionException;
+import com.ritesh.testing.model.CursorPage;
 import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeBatch;
+import com.ritesh.testing.model.EmployeeDelta;
+import com.ritesh.testing.model.EmployeeSearch;
+import com.ritesh.testing.model.EmployeeSuggestion;
+import com.ritesh.testing.model.EmployeeTombstone;
+import com.ritesh.testing.model.SearchPage;
+import com.ritesh.testing.outbox.EmployeeOutbox;
 import com.ritesh.testing.repository.EmployeeRepository;
+import com.ritesh.testing.repository.EmployeeTombstoneRepository;
 import com.ritesh.testing.service.impl.EmployeeServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.BDDMockito;
 import org.mockito.Mockito;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import javax.persistence.EntityManager;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -23,12 +62,32 @@ public class EmployeeServiceImplTests {
 
   private EmployeeService employeeService;
   private EmployeeRepository employeeRepository;
+  private EmployeeTombstoneRepository employeeTombstoneRepository;
+  private EntityManager entityManager;
+  private EmployeeSuggestIndex employeeSuggestIndex;
+  private EmployeeOutbox employeeOutbox;
   private Employee employee;
 
   @BeforeEach
   public void setup() {
     employeeRepository = Mockito.mock(EmployeeRepository.class);
-    employeeService = new EmployeeServiceImpl(employeeRepository);
+    employeeTombstoneRepository = Mockito.mock(EmployeeTombstoneRepository.class);
+    entityManager = Mockito.mock(EntityManager.class);
+    EmployeeCache employeeCache =
+        new EmployeeCache(
+            100, Duration.ofMinutes(1), Duration.ofMinutes(1), new SimpleMeterRegistry());
+    employeeSuggestIndex = new EmployeeSuggestIndex(new SimpleMeterRegistry());
+    employeeOutbox = Mockito.mock(EmployeeOutbox.class);
+    employeeService =
+        new EmployeeServiceImpl(
+            employeeRepository,
+            employeeTombstoneRepository,
+            entityManager,
+            employeeCache,
+            employeeSuggestIndex,
+            employeeOutbox,
+            Duration.ofSeconds(5),
+            Duration.ofSeconds(5));
 
     employee =
         Employee.builder()
@@ -45,10 +104,13 @@ public class EmployeeServiceImplTests {
   void givenEmployeeObject_whenSave_thenReturnEmployee() {
     // given - precondition or setup
     // stubbing
-    BDDMockito.given(employeeRepository.findByEmail(employee.getEmail()))
-        .willReturn(Optional.empty());
-    // stubbing
-    BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
+    BDDMockito.given(employeeRepository.saveAndFlush(employee))
+        .willAnswer(
+            invocation -> {
+              Employee savedEmployee = invocation.getArgument(0);
+              savedEmployee.setId(1);
+              return savedEmployee;
+            });
 
     // when - action or the behavior that we are going to test
     Employee saveEmployee = employeeService.saveEmployee(employee);
@@ -56,6 +118,8 @@ public class EmployeeServiceImplTests {
     // then - verify the output
     assertThat(saveEmployee).isNotNull();
     assertThat(saveEmployee.getId()).isEqualTo(1);
+    verify(employeeRepository, never()).findByEmail(employee.getEmail());
+    verify(employeeOutbox).created(List.of(saveEmployee));
   }
 
   // JUnit test for to save employee object
@@ -63,11 +127,116 @@ public class EmployeeServiceImplTests {
   @Test
   void givenExistingEmail_whenSaveEmployee_thenThrowsException() {
     // given - precondition or setup
-    BDDMockito.given(employeeRepository.findByEmail(employee.getEmail()))
-        .willReturn(Optional.of(employee));
+    BDDMockito.given(employeeRepository.saveAndFlush(employee))
+        .willThrow(
+            new DataIntegrityViolationException(
+                "could not execute statement",
+                new ConstraintViolationException(
+                    "Duplicate entry", null, "employee." + Employee.EMAIL_CONSTRAINT)));
+
+    // then - verify the output
+    assertThrows(
+        EmployeeAlreadyExistsException.class, () -> employeeService.saveEmployee(employee));
+  }
+
+  // JUnit test for bulk save employees
+  @DisplayName("Save employee list in batches")
+  @Test
+  void givenEmployeeList_whenSaveEmployees_thenCheckEmailsOnceAndSaveAll() {
+    // given - precondition or setup
+    Employee employee2 =
+        Employee.builder().firstName("Deep").lastName("Singh").email("deep.singh@gmail.com").build();
+    BDDMockito.given(employeeRepository.findExistingEmails(anyCollection()))
+        .willReturn(Collections.emptyList());
+
+    // when - action or the behavior that we are going to test
+    List<Employee> savedEmployees = employeeService.saveEmployees(List.of(employee, employee2));
+
+    // then - verify the output
+    assertThat(savedEmployees)
+        .extracting(Employee::getEmail)
+        .containsExactly(employee.getEmail(), employee2.getEmail());
+    assertThat(employee.getId()).isEqualTo(1);
+    verify(employeeRepository, times(1)).findExistingEmails(anyCollection());
+    verify(employeeRepository, times(1)).saveAll(savedEmployees);
+    verify(employeeRepository, times(1)).flush();
+  }
+
+  // JUnit test for bulk save employees
+  @DisplayName("Save empty employee list touches no table")
+  @Test
+  void givenEmptyList_whenSaveEmployees_thenNoQuery() {
+    // when - action or the behavior that we are going to test
+    List<Employee> savedEmployees = employeeService.saveEmployees(List.of());
+
+    // then - verify the output
+    assertThat(savedEmployees).isEmpty();
+    Mockito.verifyNoInteractions(employeeRepository);
+  }
+
+  // JUnit test for bulk save employees
+  @DisplayName("Save employee list with a null entry is rejected")
+  @Test
+  void givenNullEntry_whenSaveEmployees_thenThrowsBadRequest() {
+    // given - precondition or setup
+    List<Employee> employees = new ArrayList<>();
+    employees.add(employee);
+    employees.add(null);
+
+    // then - verify the output
+    assertThrows(BadRequestException.class, () -> employeeService.saveEmployees(employees));
+    Mockito.verifyNoInteractions(employeeRepository);
+  }
+
+  // JUnit test for bulk save employees
+  @DisplayName("Save large employee list checks existing emails in chunks")
+  @Test
+  void givenLargeList_whenSaveEmployees_thenCheckEmailsInChunks() {
+    // given - precondition or setup
+    List<Employee> employees = new ArrayList<>();
+    for (int i = 0; i < 2_500; i++) {
+      employees.add(
+          Employee.builder().firstName("First").lastName("Last").email(i + "@example.com").build());
+    }
+    BDDMockito.given(employeeRepository.findExistingEmails(anyCollection()))
+        .willReturn(Collections.emptyList());
+
+    // when - action or the behavior that we are going to test
+    employeeService.saveEmployees(employees);
+
+    // then - verify the output
+    verify(employeeRepository, times(3))
+        .findExistingEmails(ArgumentMatchers.argThat(emails -> emails.size() <= 1_000));
+  }
+
+  // JUnit test for bulk save employees
+  @DisplayName("Save employee list with an existing email throws exception")
+  @Test
+  void givenExistingEmail_whenSaveEmployees_thenThrowsException() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.findExistingEmails(anyCollection()))
+        .willReturn(List.of(employee.getEmail()));
+
+    // then - verify the output
+    assertThrows(
+        EmployeeAlreadyExistsException.class,
+        () -> employeeService.saveEmployees(List.of(employee)));
+    verify(employeeRepository, never()).saveAll(anyCollection());
+  }
+
+  // JUnit test for bulk save employees
+  @DisplayName("Save employee list with a repeated email throws exception")
+  @Test
+  void givenRepeatedEmail_whenSaveEmployees_thenThrowsException() {
+    // given - precondition or setup
+    Employee duplicate =
+        Employee.builder().firstName("Deep").lastName("Singh").email(employee.getEmail()).build();
 
     // then - verify the output
-    assertThrows(ResourceNotFoundException.class, () -> employeeService.saveEmployee(employee));
+    assertThrows(
+        EmployeeAlreadyExistsException.class,
+        () -> employeeService.saveEmployees(List.of(employee, duplicate)));
+    verify(employeeRepository, never()).findExistingEmails(anyCollection());
   }
 
   // Junit test for to get all employee method
@@ -108,6 +277,63 @@ public class EmployeeServiceImplTests {
     assertThat(employeeList).isEmpty();
   }
 
+  // Junit test for keyset paginated get employees method
+  @DisplayName("Get employees page with next cursor")
+  @Test
+  void givenMoreRowsThanLimit_whenGetEmployees_thenReturnPageWithNextCursor() {
+    // given - precondition or setup
+    Employee employee2 =
+        Employee.builder()
+            .id(2)
+            .firstName("Deep")
+            .lastName("Singh")
+            .email("deep.dingh@gmail.com")
+            .build();
+    BDDMockito.given(employeeRepository.findByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, 2)))
+        .willReturn(List.of(employee, employee2));
+
+    // when - action or the behavior that we are going to test
+    CursorPage<Employee> page = employeeService.getEmployees(null, 1);
+
+    // then - verify the output
+    assertThat(page.getContent()).containsExactly(employee);
+    assertThat(page.getNextCursor()).isEqualTo(1);
+  }
+
+  // Junit test for keyset paginated get employees method
+  @DisplayName("Get last employees page (no next cursor)")
+  @Test
+  void givenFewerRowsThanLimit_whenGetEmployees_thenReturnPageWithoutNextCursor() {
+    // given - precondition or setup
+    BDDMockito.given(
+            employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                1, PageRequest.of(0, EmployeeService.DEFAULT_PAGE_SIZE + 1)))
+        .willReturn(Collections.emptyList());
+
+    // when - action or the behavior that we are going to test
+    CursorPage<Employee> page = employeeService.getEmployees(1, null);
+
+    // then - verify the output
+    assertThat(page.getContent()).isEmpty();
+    assertThat(page.getNextCursor()).isNull();
+  }
+
+  // Junit test for export employees method
+  @DisplayName("Export employees")
+  @Test
+  void givenEmployeeStream_whenExportEmployees_thenConsumeAndDetachEachEmployee() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.streamAll()).willReturn(Stream.of(employee));
+    List<Employee> exported = new ArrayList<>();
+
+    // when - action or the behavior that we are going to test
+    employeeService.exportEmployees(exported::add);
+
+    // then - verify the output
+    assertThat(exported).containsExactly(employee);
+    verify(entityManager, times(1)).detach(employee);
+  }
+
   // JUnit test for get employee by id
   @DisplayName("Get employee by id")
   @Test
@@ -124,23 +350,400 @@ public class EmployeeServiceImplTests {
     assertThat(savedEmployee.getId()).isNotNull();
   }
 
-  // JUnit test for update employee
-  @DisplayName("Update employee")
+  // JUnit test for cached get employee by id
+  @DisplayName("Get employee by id is served from cache")
   @Test
-  void giveEmployeeObject_whenUpdateEmployee_thenReturnEmployeeObject() {
+  void givenCachedEmployee_whenGetEmployeeByIdTwice_thenQueryRepositoryOnce() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.findById(employee.getId()))
+        .willReturn(Optional.of(employee));
+
+    // when - action or the behavior that we are going to test
+    employeeService.findEmployeeById(employee.getId());
+    Employee cachedEmployee = employeeService.findEmployeeById(employee.getId());
+
+    // then - verify the output
+    assertThat(cachedEmployee).isSameAs(employee);
+    verify(employeeRepository, times(1)).findById(employee.getId());
+  }
+
+  // JUnit test for cached negative lookup
+  @DisplayName("Missing employee lookup is cached")
+  @Test
+  void givenMissingEmployee_whenGetEmployeeByIdTwice_thenQueryRepositoryOnce() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.findById(2)).willReturn(Optional.empty());
+
+    // when - action or the behavior that we are going to test
+    assertThrows(ResourceNotFoundException.class, () -> employeeService.findEmployeeById(2));
+    assertThrows(ResourceNotFoundException.class, () -> employeeService.findEmployeeById(2));
+
+    // then - verify the output
+    verify(employeeRepository, times(1)).findById(2);
+  }
+
+  // JUnit test for coalescing concurrent identical lookups
+  @DisplayName("Concurrent lookups of one email share a single query")
+  @Test
+  void givenConcurrentLookups_whenFindEmployeeByEmail_thenQueryRepositoryOnce() throws Exception {
+    // given - precondition or setup
+    CountDownLatch release = new CountDownLatch(1);
+    BDDMockito.given(employeeRepository.findByEmail(employee.getEmail()))
+        .willAnswer(
+            invocation -> {
+              release.await();
+              return Optional.of(employee);
+            });
+
+    // when - action or the behavior that we are going to test
+    List<FutureTask<Optional<Employee>>> lookups =
+        lookUpConcurrently(16, () -> employeeService.findEmployeeByEmail(employee.getEmail()));
+    release.countDown();
+
+    // then - verify the output
+    for (FutureTask<Optional<Employee>> lookup : lookups) {
+      assertThat(lookup.get(5, TimeUnit.SECONDS)).containsSame(employee);
+    }
+    verify(employeeRepository, times(1)).findByEmail(employee.getEmail());
+  }
+
+  // JUnit test for coalescing concurrent identical lookups
+  @DisplayName("Concurrent lookups of one id share a single query")
+  @Test
+  void givenConcurrentLookups_whenFindEmployeeById_thenQueryRepositoryOnce() throws Exception {
     // given - precondition or setup
+    CountDownLatch release = new CountDownLatch(1);
+    BDDMockito.given(employeeRepository.findById(employee.getId()))
+        .willAnswer(
+            invocation -> {
+              release.await();
+              return Optional.of(employee);
+            });
+
+    // when - action or the behavior that we are going to test
+    List<FutureTask<Employee>> lookups =
+        lookUpConcurrently(16, () -> employeeService.findEmployeeById(employee.getId()));
+    release.countDown();
+
+    // then - verify the output
+    for (FutureTask<Employee> lookup : lookups) {
+      assertThat(lookup.get(5, TimeUnit.SECONDS)).isSameAs(employee);
+    }
+    verify(employeeRepository, times(1)).findById(employee.getId());
+  }
+
+  // JUnit test for error propagation to coalesced lookups
+  @DisplayName("Concurrent lookups of one email all receive the query's failure")
+  @Test
+  void givenFailingQuery_whenFindEmployeeByEmailConcurrently_thenEveryCallerFails()
+      throws Exception {
+    // given - precondition or setup
+    CountDownLatch release = new CountDownLatch(1);
     BDDMockito.given(employeeRepository.findByEmail(employee.getEmail()))
+        .willAnswer(
+            invocation -> {
+              release.await();
+              throw new QueryTimeoutException("statement timed out");
+            });
+
+    // when - action or the behavior that we are going to test
+    List<FutureTask<Optional<Employee>>> lookups =
+        lookUpConcurrently(8, () -> employeeService.findEmployeeByEmail(employee.getEmail()));
+    release.countDown();
+
+    // then - verify the output
+    for (FutureTask<Optional<Employee>> lookup : lookups) {
+      ExecutionException e =
+          assertThrows(ExecutionException.class, () -> lookup.get(5, TimeUnit.SECONDS));
+      assertThat(e.getCause()).isInstanceOf(QueryTimeoutException.class);
+    }
+    verify(employeeRepository, times(1)).findByEmail(employee.getEmail());
+  }
+
+  // JUnit test for multi-get by ids
+  @DisplayName("Get employees by ids keeps request order and reports missing ids")
+  @Test
+  void givenIds_whenFindEmployees_thenReturnInRequestOrderWithMissingIds() {
+    // given - precondition or setup
+    Employee other =
+        Employee.builder().id(3).firstName("John").lastName("Cena").email("cena@gmail.com").build();
+    BDDMockito.given(employeeRepository.findById(employee.getId()))
         .willReturn(Optional.of(employee));
+    BDDMockito.given(employeeRepository.findAllById(anyCollection())).willReturn(List.of(other));
+    employeeService.findEmployeeById(employee.getId());
+
+    // when - action or the behavior that we are going to test
+    EmployeeBatch batch = employeeService.findEmployees(List.of(3, 2, 1, 3));
+
+    // then - verify the output
+    assertThat(batch.getEmployees()).containsExactly(other, employee);
+    assertThat(batch.getMissing()).containsExactly(2);
+    // the cached employee is not queried again
+    verify(employeeRepository, times(1))
+        .findAllById(
+            ArgumentMatchers.argThat(
+                ids -> ids.equals(List.of(2, 3)) || ids.equals(List.of(3, 2))));
+  }
 
-    BDDMockito.given(employeeRepository.save(employee)).willReturn(employee);
+  // JUnit test for multi-get over the id cap
+  @DisplayName("Get employees by too many ids is rejected")
+  @Test
+  void givenTooManyIds_whenFindEmployees_thenThrowsBadRequestException() {
+    // given - precondition or setup
+    List<Integer> ids = new ArrayList<>();
+    for (int id = 1; id <= EmployeeService.MAX_BATCH_IDS + 1; id++) {
+      ids.add(id);
+    }
+
+    // when - action or the behavior that we are going to test
+    assertThrows(BadRequestException.class, () -> employeeService.findEmployees(ids));
+
+    // then - verify the output
+    verify(employeeRepository, never()).findAllById(any());
+  }
+
+  // JUnit test for cache invalidation on delete
+  @DisplayName("Delete employee invalidates cached lookup")
+  @Test
+  void givenCachedEmployee_whenDeleteEmployee_thenNextLookupQueriesRepository() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.findById(employee.getId()))
+        .willReturn(Optional.of(employee), Optional.empty());
+    employeeService.findEmployeeById(employee.getId());
+
+    // when - action or the behavior that we are going to test
+    employeeService.deleteEmployee(employee.getId());
+
+    // then - verify the output
+    assertThrows(
+        ResourceNotFoundException.class, () -> employeeService.findEmployeeById(employee.getId()));
+    verify(employeeRepository, times(2)).findById(employee.getId());
+  }
+
+  // JUnit test for update employee
+  @DisplayName("Update employee")
+  @Test
+  void giveEmployeeObject_whenUpdateEmployee_thenReturnEmployeeObject() {
+    // given - precondition or setup
+    Employee stored = stored(0);
+    BDDMockito.given(employeeRepository.findById(1)).willReturn(Optional.of(stored));
     employee.setFirstName("Ritesh893");
+    employee.setVersion(0);
 
     // when - action or the behavior that we are going to test
     Employee updatedEmployee = employeeService.updateEmployee(employee);
 
     // then - verify the output
-    assertThat(updatedEmployee).isNotNull();
+    assertThat(updatedEmployee).isSameAs(stored);
     assertThat(updatedEmployee.getFirstName()).isEqualTo("Ritesh893");
+    verify(employeeRepository, times(1)).flush();
+    verify(employeeRepository, never()).findForUpdateById(1);
+  }
+
+  // JUnit test for unconditional update employee
+  @DisplayName("Unconditional update employee locks the row and returns its version")
+  @Test
+  void givenNoVersion_whenUpdateEmployee_thenReturnLockedEmployeeVersion() {
+    // given - precondition or setup
+    Employee stored = stored(4);
+    BDDMockito.given(employeeRepository.findForUpdateById(1)).willReturn(Optional.of(stored));
+
+    // when - action or the behavior that we are going to test
+    Employee updatedEmployee = employeeService.updateEmployee(employee);
+
+    // then - verify the output
+    assertThat(updatedEmployee.getVersion()).isEqualTo(4);
+    verify(employeeOutbox, times(1)).updated(stored);
+    verify(employeeRepository, never()).findById(1);
+  }
+
+  // JUnit test for update employee
+  @DisplayName("Update missing employee throws not found")
+  @Test
+  void givenMissingEmployee_whenUpdateEmployee_thenThrowsNotFound() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.findForUpdateById(1)).willReturn(Optional.empty());
+
+    // then - verify the output
+    assertThrows(ResourceNotFoundException.class, () -> employeeService.updateEmployee(employee));
+  }
+
+  // JUnit test for update employee
+  @DisplayName("Update employee with stale version throws conflict")
+  @Test
+  void givenStaleVersion_whenUpdateEmployee_thenThrowsConflict() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.findById(1)).willReturn(Optional.of(stored(4)));
+    employee.setVersion(3);
+
+    // then - verify the output
+    assertThrows(ResourceConflictException.class, () -> employeeService.updateEmployee(employee));
+    verify(employeeRepository, never()).flush();
+  }
+
+  // JUnit test for update employee
+  @DisplayName("Update employee that loses the race at flush throws stale version")
+  @Test
+  void givenConcurrentWrite_whenUpdateEmployeeFlushes_thenThrowsStaleVersion() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.findById(1)).willReturn(Optional.of(stored(3)));
+    BDDMockito.willThrow(new ObjectOptimisticLockingFailureException(Employee.class, 1))
+        .given(employeeRepository)
+        .flush();
+    employee.setVersion(3);
+
+    // then - verify the output
+    assertThrows(StaleVersionException.class, () -> employeeService.updateEmployee(employee));
+  }
+
+  // JUnit test for suggest index maintenance
+  @DisplayName("Saved, updated and deleted employees are reflected in suggestions")
+  @Test
+  void givenWrites_whenSuggest_thenReturnCurrentEmployees() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.saveAndFlush(employee))
+        .willAnswer(
+            invocation -> {
+              Employee savedEmployee = invocation.getArgument(0);
+              savedEmployee.setId(1);
+              return savedEmployee;
+            });
+    employeeService.saveEmployee(employee);
+    Employee renamed =
+        Employee.builder()
+            .id(1)
+            .firstName("Deep")
+            .lastName("Singh")
+            .email("deep.singh@gmail.com")
+            .build();
+    BDDMockito.given(employeeRepository.findForUpdateById(1)).willReturn(Optional.of(stored(0)));
+
+    // when - action or the behavior that we are going to test
+    List<EmployeeSuggestion> beforeUpdate = employeeSuggestIndex.suggest("rit", 10);
+    employeeService.updateEmployee(renamed);
+    List<EmployeeSuggestion> afterUpdate = employeeSuggestIndex.suggest("deep s", 10);
+    employeeService.deleteEmployee(1);
+
+    // then - verify the output
+    assertThat(beforeUpdate).extracting(EmployeeSuggestion::getId).containsExactly(1);
+    assertThat(employeeSuggestIndex.suggest("rit", 10)).isEmpty();
+    assertThat(afterUpdate)
+        .extracting(EmployeeSuggestion::getEmail)
+        .containsExactly(renamed.getEmail());
+    assertThat(employeeSuggestIndex.suggest("deep", 10)).isEmpty();
+  }
+
+  // JUnit test for a delete racing the suggest index warm-up
+  @DisplayName("Employee deleted during the suggest warm-up scan stays out of suggestions")
+  @Test
+  void givenDeleteDuringWarmUp_whenScanReturnsDeletedRow_thenSuggestOmitsIt() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.streamAll()).willReturn(Stream.of(employee));
+    employeeSuggestIndex.beginWarmUp();
+
+    // when - action or the behavior that we are going to test
+    employeeService.deleteEmployee(employee.getId());
+    employeeService.exportEmployees(employeeSuggestIndex::putIfAbsent);
+    employeeSuggestIndex.endWarmUp();
+
+    // then - verify the output
+    assertThat(employeeSuggestIndex.suggest("rit", 10)).isEmpty();
+  }
+
+  // JUnit test for search employees
+  @DisplayName("Search employees skips the count unless asked")
+  @Test
+  void givenLastNameSearch_whenSearchEmployees_thenReturnPageWithoutTotal() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.search(any(), eq(51))).willReturn(List.of(employee));
+
+    // when - action or the behavior that we are going to test
+    SearchPage<Employee> page =
+        employeeService.searchEmployees(
+            EmployeeSearch.builder().lastName("Singh").build(), null, null, false);
+
+    // then - verify the output
+    assertThat(page.getContent()).containsExactly(employee);
+    assertThat(page.getNextCursor()).isNull();
+    assertThat(page.getTotal()).isNull();
+    verify(employeeRepository, never()).count(ArgumentMatchers.<Specification<Employee>>any());
+  }
+
+  // JUnit test for search employees
+  @DisplayName("Search employees without an indexed filter is rejected")
+  @Test
+  void givenOnlyEmailDomain_whenSearchEmployees_thenThrowsBadRequest() {
+    // given - precondition or setup
+    EmployeeSearch search = EmployeeSearch.builder().emailDomain("gmail.com").build();
+
+    // then - verify the output
+    assertThrows(
+        BadRequestException.class,
+        () -> employeeService.searchEmployees(search, null, null, true));
+    verify(employeeRepository, never()).search(any(), anyInt());
+  }
+
+  // JUnit test for search employees
+  @DisplayName("Search employees with a one character prefix is rejected")
+  @Test
+  void givenShortPrefix_whenSearchEmployees_thenThrowsBadRequest() {
+    // given - precondition or setup
+    EmployeeSearch search = EmployeeSearch.builder().firstName("R*").build();
+
+    // then - verify the output
+    assertThrows(
+        BadRequestException.class,
+        () -> employeeService.searchEmployees(search, null, null, false));
+  }
+
+  // JUnit test for delta sync
+  @DisplayName("Changes are merged with deletions in watermark order")
+  @Test
+  void givenUpdatesAndDeletions_whenGetChanges_thenReturnPageInWatermarkOrder() {
+    // given - precondition or setup
+    Instant since = Instant.parse("2024-01-01T00:00:00Z");
+    employee.setUpdatedAt(since.plusSeconds(1));
+    Employee later =
+        Employee.builder().id(3).email("later@example.com").updatedAt(since.plusSeconds(3)).build();
+    BDDMockito.given(
+            employeeRepository.findChangedSince(eq(since), eq(7), any(), eq(PageRequest.of(0, 3))))
+        .willReturn(List.of(employee, later));
+    BDDMockito.given(
+            employeeTombstoneRepository.findDeletedSince(
+                eq(since), eq(7), any(), eq(PageRequest.of(0, 3))))
+        .willReturn(
+            List.of(
+                new EmployeeTombstone(2, since.plusSeconds(2)),
+                new EmployeeTombstone(4, since.plusSeconds(4))));
+
+    // when - action or the behavior that we are going to test
+    EmployeeDelta delta = employeeService.getChanges(since + "_7", 2);
+
+    // then - verify the output
+    assertThat(delta.getChanged()).containsExactly(employee);
+    assertThat(delta.getDeleted()).containsExactly(2);
+    assertThat(delta.isHasMore()).isTrue();
+    assertThat(delta.getWatermark()).isEqualTo(since.plusSeconds(2) + "_2");
+  }
+
+  // JUnit test for delta sync
+  @DisplayName("Malformed watermark is rejected")
+  @Test
+  void givenMalformedWatermark_whenGetChanges_thenThrowsBadRequest() {
+    // then - verify the output
+    assertThrows(BadRequestException.class, () -> employeeService.getChanges("yesterday", 10));
+  }
+
+  // JUnit test for conditional delete employee
+  @DisplayName("Delete employee with stale version throws conflict")
+  @Test
+  void givenStaleVersion_whenDeleteEmployee_thenThrowsStaleVersion() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.findById(1)).willReturn(Optional.of(stored(4)));
+
+    // then - verify the output
+    assertThrows(StaleVersionException.class, () -> employeeService.deleteEmployee(1, 3));
+    verify(employeeRepository, never()).delete(any(Employee.class));
   }
 
   // Junit test for update employee
@@ -148,11 +751,62 @@ public class EmployeeServiceImplTests {
   @Test
   void giveEmployeeObject_whenDeleteEmployee_thenThrowException() {
     // given - precondition or setup
-    BDDMockito.willDoNothing().given(employeeRepository).deleteById(1);
+    Employee stored = stored(0);
+    BDDMockito.given(employeeRepository.findForUpdateById(1)).willReturn(Optional.of(stored));
     // when - action or the behavior that we are going to test
     employeeService.deleteEmployee(employee.getId());
 
     // then - verify the output
-    verify(employeeRepository, times(1)).deleteById(employee.getId());
+    verify(employeeRepository, times(1)).delete(stored);
+  }
+
+  // Junit test for delete employee
+  @DisplayName("Delete missing employee throws not found")
+  @Test
+  void givenMissingEmployee_whenDeleteEmployee_thenThrowsNotFound() {
+    // given - precondition or setup
+    BDDMockito.given(employeeRepository.findForUpdateById(1)).willReturn(Optional.empty());
+
+    // then - verify the output
+    assertThrows(ResourceNotFoundException.class, () -> employeeService.deleteEmployee(1));
+    verify(employeeRepository, never()).delete(any(Employee.class));
+    verify(employeeOutbox, never()).deleted(1);
+  }
+
+  // the row as the repository holds it, at the given version
+  private Employee stored(int version) {
+    return Employee.builder()
+        .id(1)
+        .firstName("Ritesh")
+        .lastName("Singh")
+        .email("riteshsingh893@gmail.com")
+        .version(version)
+        .build();
+  }
+
+  // starts the lookup on separate threads and returns once one of them is in the repository and
+  // the others are waiting on it; fails after five seconds rather than hanging the build
+  private <T> List<FutureTask<T>> lookUpConcurrently(int callers, Callable<T> lookup)
+      throws InterruptedException {
+    List<FutureTask<T>> lookups = new ArrayList<>();
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < callers; i++) {
+      FutureTask<T> task = new FutureTask<>(lookup);
+      lookups.add(task);
+      Thread thread = new Thread(task);
+      thread.setDaemon(true);
+      threads.add(thread);
+    }
+    threads.forEach(Thread::start);
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    // the query blocks untimed, callers waiting on it block with the coalescing timeout
+    while (threads.stream().filter(t -> t.getState() == Thread.State.TIMED_WAITING).count()
+        < callers - 1) {
+      if (System.nanoTime() - deadline > 0) {
+        fail("Callers did not start waiting on a shared lookup within 5 seconds");
+      }
+      Thread.sleep(1);
+    }
+    return lookups;
   }
 }
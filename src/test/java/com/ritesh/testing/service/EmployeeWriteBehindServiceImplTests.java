@@ -0,0 +1,160 @@
+package com.ritesh.testing.service;
+
+import com.ritesh.testing.exception.EmployeeAlreadyExistsException;
+import com.ritesh.testing.exception.ResourceNotFoundException;
+import com.ritesh.testing.exception.StaleVersionException;
+import com.ritesh.testing.exception.WriteQueueFullException;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.WriteTicket;
+import com.ritesh.testing.service.impl.EmployeeWriteBehindServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class EmployeeWriteBehindServiceImplTests {
+
+  private EmployeeService employeeService;
+  private EmployeeWriteBehindServiceImpl employeeWriteBehindService;
+
+  @BeforeEach
+  public void setup() {
+    employeeService = Mockito.mock(EmployeeService.class);
+    // the interval is long enough that only the explicit flush() calls below apply writes
+    employeeWriteBehindService =
+        new EmployeeWriteBehindServiceImpl(
+            employeeService,
+            Mockito.mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry(),
+            2,
+            100,
+            Duration.ofHours(1),
+            Duration.ofMinutes(1));
+  }
+
+  @AfterEach
+  public void tearDown() throws InterruptedException {
+    employeeWriteBehindService.destroy();
+  }
+
+  // JUnit test for coalescing updates
+  @DisplayName("Repeated updates to one employee are coalesced")
+  @Test
+  void givenTwoUpdatesForSameEmployee_whenFlush_thenApplyLatestOnce() {
+    // given - precondition or setup
+    BDDMockito.given(employeeService.updateEmployee(any(Employee.class)))
+        .willAnswer(invocation -> invocation.getArgument(0));
+    WriteTicket first = employeeWriteBehindService.submitUpdate(employee(1, "Ritesh"));
+    WriteTicket second = employeeWriteBehindService.submitUpdate(employee(1, "Ritesh893"));
+
+    // when - action or the behavior that we are going to test
+    employeeWriteBehindService.flush();
+
+    // then - verify the output
+    ArgumentCaptor<Employee> captor = ArgumentCaptor.forClass(Employee.class);
+    verify(employeeService, times(1)).updateEmployee(captor.capture());
+    assertThat(captor.getValue().getFirstName()).isEqualTo("Ritesh893");
+    assertThat(status(first)).isEqualTo(WriteTicket.Status.APPLIED);
+    assertThat(status(second)).isEqualTo(WriteTicket.Status.APPLIED);
+  }
+
+  // JUnit test for backpressure
+  @DisplayName("Submitting to a full queue is rejected")
+  @Test
+  void givenFullQueue_whenSubmitCreate_thenThrowQueueFull() {
+    // given - precondition or setup
+    employeeWriteBehindService.submitCreate(employee(null, "Ritesh"));
+    employeeWriteBehindService.submitCreate(employee(null, "Deep"));
+
+    // then - verify the output
+    assertThrows(
+        WriteQueueFullException.class,
+        () -> employeeWriteBehindService.submitCreate(employee(null, "Ram")));
+  }
+
+  // JUnit test for per-write outcome after a batch failure
+  @DisplayName("A rejected create fails only its own ticket")
+  @Test
+  void givenDuplicateEmailInBatch_whenFlush_thenOnlyDuplicateFails() {
+    // given - precondition or setup
+    Employee duplicate = employee(null, "Deep");
+    WriteTicket created = employeeWriteBehindService.submitCreate(employee(null, "Ritesh"));
+    WriteTicket rejected = employeeWriteBehindService.submitCreate(duplicate);
+    BDDMockito.given(employeeService.saveEmployees(anyList()))
+        .willAnswer(
+            invocation -> {
+              List<Employee> employees = invocation.getArgument(0);
+              if (employees.stream().anyMatch(e -> e.getEmail().equals(duplicate.getEmail()))) {
+                throw new EmployeeAlreadyExistsException("Employee already exist with email :: x");
+              }
+              return employees;
+            });
+
+    // when - action or the behavior that we are going to test
+    employeeWriteBehindService.flush();
+
+    // then - verify the output
+    assertThat(status(created)).isEqualTo(WriteTicket.Status.APPLIED);
+    assertThat(status(rejected)).isEqualTo(WriteTicket.Status.FAILED);
+  }
+
+  // JUnit test for replaying a versioned update after a batch failure
+  @DisplayName("A versioned update is replayed with its submitted version")
+  @Test
+  void givenVersionedUpdateInFailedBatch_whenFlush_thenReplayWithSubmittedVersion() {
+    // given - precondition or setup
+    Employee versioned = employee(1, "Ritesh");
+    versioned.setVersion(3);
+    WriteTicket applied = employeeWriteBehindService.submitUpdate(versioned);
+    WriteTicket rejected = employeeWriteBehindService.submitUpdate(employee(2, "Deep"));
+    BDDMockito.given(employeeService.updateEmployee(any(Employee.class)))
+        .willAnswer(
+            invocation -> {
+              Employee employee = invocation.getArgument(0);
+              if (employee.getId() == 2) {
+                throw new ResourceNotFoundException("Employee not found with id :: 2");
+              }
+              if (employee.getVersion() != 3) {
+                throw new StaleVersionException("Employee version is stale for id :: 1");
+              }
+              // as EmployeeServiceImpl does, before the batch transaction rolls back
+              employee.setVersion(4);
+              return employee;
+            });
+
+    // when - action or the behavior that we are going to test
+    employeeWriteBehindService.flush();
+
+    // then - verify the output
+    assertThat(status(applied)).isEqualTo(WriteTicket.Status.APPLIED);
+    assertThat(status(rejected)).isEqualTo(WriteTicket.Status.FAILED);
+  }
+
+  private WriteTicket.Status status(WriteTicket ticket) {
+    return employeeWriteBehindService.findTicket(ticket.getToken()).orElseThrow().getStatus();
+  }
+
+  private static Employee employee(Integer id, String firstName) {
+    return Employee.builder()
+        .id(id)
+        .firstName(firstName)
+        .lastName("Singh")
+        .email(firstName.toLowerCase() + "@gmail.com")
+        .build();
+  }
+}
@@ -0,0 +1,222 @@
+package com.ritesh.testing.service;
+
+import com.ritesh.testing.exception.ResourceConflictException;
+import com.ritesh.testing.exception.EmployeeAlreadyExistsException;
+import com.ritesh.testing.exception.ResourceNotFoundException;
+import com.ritesh.testing.model.Employee;
+import com.ritesh.testing.model.EmployeeChange;
+import com.ritesh.testing.repository.EmployeeChangeRepository;
+import com.ritesh.testing.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+// JPA and R2DBC share one in-memory H2 database, standing in for MySQL
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:reactive;DB_CLOSE_DELAY=-1",
+      "spring.datasource.username=sa",
+      "spring.datasource.password=",
+      "app.reactive.r2dbc.url=r2dbc:h2:mem:///reactive?options=DB_CLOSE_DELAY=-1",
+      "app.reactive.r2dbc.username=sa",
+      "app.reactive.r2dbc.password="
+    })
+public class ReactiveEmployeeServiceImplTests {
+
+  @Autowired private ReactiveEmployeeService reactiveEmployeeService;
+  @Autowired private EmployeeRepository employeeRepository;
+  @Autowired private EmployeeChangeRepository employeeChangeRepository;
+
+  private Employee employee;
+
+  @BeforeEach
+  void setup() {
+    employeeRepository.deleteAll();
+    employee =
+        Employee.builder()
+            .firstName("Ritesh")
+            .lastName("Singh")
+            .email("riteshsingh893@gmail.com")
+            .build();
+  }
+
+  // JUnit test for reactive save and get employee
+  @DisplayName("Reactive save employee then get by id")
+  @Test
+  void givenEmployeeObject_whenSaveEmployee_thenFindEmployeeById() {
+    // when - action or the behavior that we are going to test
+    Employee savedEmployee = reactiveEmployeeService.saveEmployee(employee).block();
+
+    // then - verify the output
+    assertThat(savedEmployee).isNotNull();
+    StepVerifier.create(reactiveEmployeeService.findEmployeeById(savedEmployee.getId()))
+        .assertNext(found -> assertThat(found.getEmail()).isEqualTo(employee.getEmail()))
+        .verifyComplete();
+  }
+
+  // JUnit test for reactive and blocking inserts sharing the id generator
+  @DisplayName("Reactive and JPA inserts do not collide on ids")
+  @Test
+  void givenJpaInsert_whenReactiveSaveEmployee_thenIdsAreDistinct() {
+    // given - precondition or setup
+    Employee jpaEmployee =
+        employeeRepository.save(
+            Employee.builder()
+                .firstName("Deep")
+                .lastName("Singh")
+                .email("deep.singh@gmail.com")
+                .build());
+
+    // when - action or the behavior that we are going to test
+    Employee reactiveEmployee = reactiveEmployeeService.saveEmployee(employee).block();
+
+    // then - verify the output
+    assertThat(reactiveEmployee.getId()).isNotEqualTo(jpaEmployee.getId());
+    assertThat(employeeRepository.count()).isEqualTo(2);
+  }
+
+  // JUnit test for reactive save with existing email
+  @DisplayName("Reactive save employee with existing email fails")
+  @Test
+  void givenExistingEmail_whenSaveEmployee_thenError() {
+    // given - precondition or setup
+    reactiveEmployeeService.saveEmployee(employee).block();
+
+    // then - verify the output
+    StepVerifier.create(
+            reactiveEmployeeService.saveEmployee(
+                Employee.builder()
+                    .firstName("Other")
+                    .lastName("Person")
+                    .email(employee.getEmail())
+                    .build()))
+        .expectError(EmployeeAlreadyExistsException.class)
+        .verify();
+  }
+
+  // JUnit test for reactive save violating a constraint other than the email's
+  @DisplayName("Reactive save employee without a first name is not an email conflict")
+  @Test
+  void givenMissingFirstName_whenSaveEmployee_thenIntegrityErrorIsNotMapped() {
+    // given - precondition or setup
+    employee.setFirstName(null);
+
+    // then - verify the output
+    StepVerifier.create(reactiveEmployeeService.saveEmployee(employee))
+        .expectError(DataIntegrityViolationException.class)
+        .verify();
+  }
+
+  // JUnit test for reactive inserts drawing ids from one reserved block
+  @DisplayName("Reactive saves use consecutive ids from one sequence block")
+  @Test
+  void givenTwoReactiveSaves_whenSaveEmployee_thenIdsAreConsecutive() {
+    // when - action or the behavior that we are going to test
+    Employee first = reactiveEmployeeService.saveEmployee(employee).block();
+    Employee second =
+        reactiveEmployeeService
+            .saveEmployee(
+                Employee.builder()
+                    .firstName("Deep")
+                    .lastName("Singh")
+                    .email("deep.singh@gmail.com")
+                    .build())
+            .block();
+
+    // then - verify the output
+    assertThat(second.getId()).isEqualTo(first.getId() + 1);
+  }
+
+  // JUnit test for reactive list employees
+  @DisplayName("Reactive list employees with backpressure")
+  @Test
+  void givenEmployees_whenGetAllEmployees_thenEmitOnDemand() {
+    // given - precondition or setup
+    reactiveEmployeeService.saveEmployee(employee).block();
+    reactiveEmployeeService
+        .saveEmployee(
+            Employee.builder()
+                .firstName("Deep")
+                .lastName("Singh")
+                .email("deep.singh@gmail.com")
+                .build())
+        .block();
+
+    // then - verify the output
+    StepVerifier.create(reactiveEmployeeService.getAllEmployees(), 1)
+        .expectNextCount(1)
+        .thenRequest(1)
+        .expectNextCount(1)
+        .verifyComplete();
+    StepVerifier.create(reactiveEmployeeService.getEmployees(null, 1))
+        .assertNext(page -> assertThat(page.getNextCursor()).isNotNull())
+        .verifyComplete();
+  }
+
+  // JUnit test for reactive update employee
+  @DisplayName("Reactive update employee with stale version fails")
+  @Test
+  void givenStaleVersion_whenUpdateEmployee_thenConflict() {
+    // given - precondition or setup
+    Employee savedEmployee = reactiveEmployeeService.saveEmployee(employee).block();
+    savedEmployee.setLastName("Singhaniya");
+    reactiveEmployeeService.updateEmployee(savedEmployee).block();
+
+    // when - action or the behavior that we are going to test
+    savedEmployee.setVersion(0);
+
+    // then - verify the output
+    StepVerifier.create(reactiveEmployeeService.updateEmployee(savedEmployee))
+        .expectError(ResourceConflictException.class)
+        .verify();
+  }
+
+  // JUnit test for reactive delete employee
+  @DisplayName("Reactive delete employee")
+  @Test
+  void givenSavedEmployee_whenDeleteEmployee_thenNotFound() {
+    // given - precondition or setup
+    Employee savedEmployee = reactiveEmployeeService.saveEmployee(employee).block();
+
+    // when - action or the behavior that we are going to test
+    reactiveEmployeeService.deleteEmployee(savedEmployee.getId()).block();
+
+    // then - verify the output
+    StepVerifier.create(reactiveEmployeeService.findEmployeeById(savedEmployee.getId()))
+        .expectError(ResourceNotFoundException.class)
+        .verify();
+  }
+
+  // JUnit test for reactive writes feeding the outbox
+  @DisplayName("Reactive save, update and delete employee are recorded in the outbox")
+  @Test
+  void givenReactiveWrites_whenReadingOutbox_thenEveryChangeIsRecorded() {
+    // given - precondition or setup
+    Employee savedEmployee = reactiveEmployeeService.saveEmployee(employee).block();
+    savedEmployee.setVersion(null);
+    savedEmployee.setLastName("Singhaniya");
+
+    // when - action or the behavior that we are going to test
+    Employee updatedEmployee = reactiveEmployeeService.updateEmployee(savedEmployee).block();
+    reactiveEmployeeService.deleteEmployee(savedEmployee.getId()).block();
+
+    // then - verify the output
+    assertThat(updatedEmployee.getVersion()).isEqualTo(1);
+    assertThat(employeeChangeRepository.findAll(Sort.by("id")))
+        .filteredOn(change -> change.getEmployeeId().equals(savedEmployee.getId()))
+        .extracting(
+            EmployeeChange::getType, EmployeeChange::getLastName, EmployeeChange::getVersion)
+        .containsExactly(
+            tuple(EmployeeChange.Type.CREATED, "Singh", 0),
+            tuple(EmployeeChange.Type.UPDATED, "Singhaniya", 1),
+            tuple(EmployeeChange.Type.DELETED, null, null));
+  }
+}